@@ -4,29 +4,35 @@ import com.mojang.brigadier.CommandDispatcher;
 import dev.architectury.event.EventResult;
 import dev.architectury.event.events.common.*;
 import dev.architectury.hooks.level.entity.PlayerHooks;
+import dev.architectury.registry.registries.RegistrarManager;
 import dev.ftb.mods.ftbquests.block.FTBQuestsBlocks;
 import dev.ftb.mods.ftbquests.block.entity.FTBQuestsBlockEntities;
 import dev.ftb.mods.ftbquests.command.FTBQuestsCommands;
 import dev.ftb.mods.ftbquests.config.FTBQuestsTeamConfig;
-import dev.ftb.mods.ftbquests.events.ClearFileCacheEvent;
 import dev.ftb.mods.ftbquests.item.FTBQuestsItems;
-import dev.ftb.mods.ftbquests.quest.BaseQuestFile;
 import dev.ftb.mods.ftbquests.quest.IslandData;
 import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
+import dev.ftb.mods.ftbquests.quest.TaskDispatchIndex;
 import dev.ftb.mods.ftbquests.quest.team.TeamManager;
 import dev.ftb.mods.ftbquests.quest.task.DimensionTask;
 import dev.ftb.mods.ftbquests.quest.task.KillTask;
 import dev.ftb.mods.ftbquests.quest.task.Task;
 import dev.ftb.mods.ftbquests.integration.PermissionsHelper;
+import dev.ftb.mods.ftbquests.net.MessageBatcher;
+import dev.ftb.mods.ftbquests.net.NetworkMetrics;
 import dev.ftb.mods.ftbquests.net.SyncEditorPermissionMessage;
-import dev.ftb.mods.ftbquests.net.SyncIslandDataMessage;
-import dev.ftb.mods.ftbquests.net.SyncQuestsMessage;
+import dev.ftb.mods.ftbquests.net.SyncQuestsHashMessage;
 import dev.ftb.mods.ftbquests.util.DeferredInventoryDetection;
 import dev.ftb.mods.ftbquests.util.FTBQuestsInventoryListener;
+import dev.ftb.mods.ftbquests.util.PlayerInventoryIndex;
+import dev.ftb.mods.ftbquests.util.PlayerLocationTracker;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
@@ -45,9 +51,6 @@ import java.util.List;
 public enum FTBQuestsEventHandler {
 	INSTANCE;
 
-	private List<KillTask> killTasks = null;
-	private List<Task> autoSubmitTasks = null;
-
 	void init() {
 		LifecycleEvent.SERVER_BEFORE_START.register(this::serverAboutToStart);
 		CommandRegistrationEvent.EVENT.register(this::registerCommands);
@@ -57,7 +60,6 @@ public enum FTBQuestsEventHandler {
 		FTBQuestsBlocks.register();
 		FTBQuestsItems.register();
 		FTBQuestsBlockEntities.register();
-		ClearFileCacheEvent.EVENT.register(this::fileCacheClear);
 		EntityEvent.LIVING_DEATH.register(this::playerKill);
 		TickEvent.PLAYER_POST.register(this::playerTick);
 		PlayerEvent.CRAFT_ITEM.register(this::itemCrafted);
@@ -66,33 +68,57 @@ public enum FTBQuestsEventHandler {
 		PlayerEvent.CHANGE_DIMENSION.register(this::changedDimension);
 		PlayerEvent.OPEN_MENU.register(this::containerOpened);
 		PlayerEvent.PLAYER_JOIN.register(this::playerLoggedIn);
+		PlayerEvent.PLAYER_QUIT.register(this::playerLoggedOut);
 		TickEvent.SERVER_POST.register(DeferredInventoryDetection::tick);
+		TickEvent.SERVER_POST.register(QuestBookTransfers::tick);
+		TickEvent.SERVER_POST.register(this::serverTick);
 	}
 
 	private void playerLoggedIn(ServerPlayer player) {
 		ServerQuestFile file = ServerQuestFile.INSTANCE;
 		if (file != null) {
-			// Sync the entire quest file structure
-			new SyncQuestsMessage(file).sendTo(player);
+			file.playerOnline(player);
+
+			// Announce the current quest book; the client replies asking for the book (unless it has this version
+			// cached) and for its island data. Checking the player's push-driven tasks waits until it has both.
+			new SyncQuestsHashMessage(file.getEncodedBook().hash()).sendTo(player);
 
 			// Sync the player's permission level
 			new SyncEditorPermissionMessage(PermissionsHelper.hasEditorPermission(player, false)).sendTo(player);
-
-			// Sync ONLY the player's own team/personal data initially.
-			// This is critical for preventing the "no data" error on login.
-			IslandData selfData = file.getOrCreateIslandData(player);
-			if (selfData != null) {
-				new SyncIslandDataMessage(selfData, true).sendTo(player);
-			}
 		}
 		
 		// Attach inventory listener so item detection tasks work immediately
+		PlayerInventoryIndex.get(player).invalidate();
 		player.inventoryMenu.addSlotListener(new FTBQuestsInventoryListener(player));
 	}
 
+	private void serverTick(MinecraftServer server) {
+		if (ServerQuestFile.INSTANCE != null) {
+			ServerQuestFile.INSTANCE.flushPushTaskChecks();
+			ServerQuestFile.INSTANCE.flushEditBroadcasts();
+			ServerQuestFile.INSTANCE.flushProgressDeltas();
+		}
+		MessageBatcher.flush(server);
+
+		int logMinutes = FTBQuestsTeamConfig.NETWORK_METRICS_LOG_MINUTES.get();
+		if (logMinutes > 0 && server.getTickCount() % (logMinutes * 1200) == 0) {
+			NetworkMetrics.logReport();
+		}
+	}
+
+	private void playerLoggedOut(ServerPlayer player) {
+		PlayerInventoryIndex.remove(player.getUUID());
+		PlayerLocationTracker.remove(player.getUUID());
+		QuestBookTransfers.remove(player.getUUID());
+		MessageBatcher.remove(player.getUUID());
+
+		if (ServerQuestFile.INSTANCE != null) {
+			ServerQuestFile.INSTANCE.playerOffline(player);
+		}
+	}
+
 	private void serverAboutToStart(MinecraftServer server) {
 		ServerQuestFile.INSTANCE = new ServerQuestFile(server);
-		FTBQuestsTeamConfig.register();
 	}
 
 	private void registerCommands(CommandDispatcher<CommandSourceStack> dispatcher, CommandBuildContext ctx, Commands.CommandSelection selection) {
@@ -122,19 +148,17 @@ public enum FTBQuestsEventHandler {
 		}
 	}
 
-	private void fileCacheClear(BaseQuestFile file) {
-		if (file.isServerSide()) {
-			killTasks = null;
-			autoSubmitTasks = null;
-		}
-	}
-
 	private EventResult playerKill(LivingEntity entity, DamageSource source) {
 		if (source.getEntity() instanceof ServerPlayer player && !PlayerHooks.isFake(player)) {
-			if (killTasks == null) {
-				killTasks = ServerQuestFile.INSTANCE.collect(KillTask.class);
+			TaskDispatchIndex index = ServerQuestFile.INSTANCE.getTaskDispatchIndex();
+
+			if (!index.hasKillTasks()) {
+				return EventResult.pass();
 			}
 
+			ResourceLocation entityType = RegistrarManager.getId(entity.getType(), Registries.ENTITY_TYPE);
+			List<KillTask> killTasks = index.getKillTasks(entityType);
+
 			if (killTasks.isEmpty()) {
 				return EventResult.pass();
 			}
@@ -144,7 +168,7 @@ public enum FTBQuestsEventHandler {
 			if (data != null && data.isMember(player.getUUID())) {
 				for (KillTask task : killTasks) {
 					if (data.getProgress(task) < task.getMaxProgress() && data.canStartTasks(task.getQuest())) {
-						task.kill(data, entity);
+						task.kill(data, entityType);
 					}
 				}
 			}
@@ -156,13 +180,19 @@ public enum FTBQuestsEventHandler {
 	private void playerTick(Player player) {
 		ServerQuestFile file = ServerQuestFile.INSTANCE;
 
-		if (player instanceof ServerPlayer && file != null && !PlayerHooks.isFake(player)) {
-			if (autoSubmitTasks == null) {
-				autoSubmitTasks = file.collect(o -> o instanceof Task && ((Task) o).autoSubmitOnPlayerTick() > 0);
+		if (player instanceof ServerPlayer sp && file != null && !PlayerHooks.isFake(player)) {
+			PlayerLocationTracker.playerTick(file, sp);
+
+			List<TaskDispatchIndex.AutoSubmitBucket> buckets = file.getTaskDispatchIndex().getAutoSubmitBuckets();
+
+			if (buckets.isEmpty()) {
+				return;
 			}
 
-			// Don't be deceived, its somehow possible to be null here
-			if (autoSubmitTasks == null || autoSubmitTasks.isEmpty()) {
+			long t = player.level().getGameTime();
+			int offset = player.getId();
+
+			if (!anyDue(buckets, t, offset)) {
 				return;
 			}
 
@@ -172,15 +202,14 @@ public enum FTBQuestsEventHandler {
 				return;
 			}
 
-			long t = player.level().getGameTime();
-
-			file.withPlayerContext((ServerPlayer) player, () -> {
-				for (Task task : autoSubmitTasks) {
-					long d = task.autoSubmitOnPlayerTick();
-
-					if (d > 0L && t % d == 0L) {
-						if (!data.isCompleted(task) && data.canStartTasks(task.getQuest())) {
-							task.submitTask(data, (ServerPlayer) player);
+			file.withDetectionContext(sp, ItemStack.EMPTY, 0L, ctx -> {
+				for (TaskDispatchIndex.AutoSubmitBucket bucket : buckets) {
+					if (bucket.isDue(t, offset)) {
+						for (Task task : data.getAutoSubmitCandidates(bucket)) {
+							// an earlier submission this tick may have completed the task
+							if (!data.isCompleted(task)) {
+								task.submitTask(data, ctx);
+							}
 						}
 					}
 				}
@@ -188,6 +217,15 @@ public enum FTBQuestsEventHandler {
 		}
 	}
 
+	private static boolean anyDue(List<TaskDispatchIndex.AutoSubmitBucket> buckets, long gameTime, int playerOffset) {
+		for (TaskDispatchIndex.AutoSubmitBucket bucket : buckets) {
+			if (bucket.isDue(gameTime, playerOffset)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private void itemCrafted(Player player, ItemStack crafted, Container inventory) {
 		if (player instanceof ServerPlayer && !crafted.isEmpty()) {
 			FTBQuestsInventoryListener.detect((ServerPlayer) player, crafted, 0);
@@ -201,8 +239,14 @@ public enum FTBQuestsEventHandler {
 	}
 
 	private void cloned(ServerPlayer oldPlayer, ServerPlayer newPlayer, boolean wonGame) {
+		PlayerInventoryIndex.get(newPlayer).invalidate();
 		newPlayer.inventoryMenu.addSlotListener(new FTBQuestsInventoryListener(newPlayer));
 
+		if (ServerQuestFile.INSTANCE != null) {
+			// respawning creates a new player object, which must replace the old one in the online member views
+			ServerQuestFile.INSTANCE.playerOnline(newPlayer);
+		}
+
 		if (wonGame) {
 			return;
 		}
@@ -226,16 +270,22 @@ public enum FTBQuestsEventHandler {
 	private void changedDimension(ServerPlayer player, ResourceKey<Level> oldLevel, ResourceKey<Level> newLevel) {
 		if (!PlayerHooks.isFake(player)) {
 			ServerQuestFile file = ServerQuestFile.INSTANCE;
+			List<DimensionTask> dimensionTasks = file.getTaskDispatchIndex().getDimensionTasks(newLevel);
+
+			if (dimensionTasks.isEmpty()) {
+				return;
+			}
+
 			IslandData data = file.getOrCreateIslandData(player);
 
 			if (data == null || data.isLocked() || !data.isMember(player.getUUID())) {
 				return;
 			}
 
-			file.withPlayerContext(player, () -> {
-				for (DimensionTask task : file.collect(DimensionTask.class)) {
+			file.withDetectionContext(player, ItemStack.EMPTY, 0L, ctx -> {
+				for (DimensionTask task : dimensionTasks) {
 					if (data.canStartTasks(task.getQuest())) {
-						task.submitTask(data, player);
+						task.submitTask(data, ctx);
 					}
 				}
 			});
@@ -3,6 +3,8 @@ package dev.ftb.mods.ftbquests.block.entity;
 import dev.ftb.mods.ftbquests.item.LootCrateItem;
 import dev.ftb.mods.ftbquests.quest.loot.LootCrate;
 import dev.ftb.mods.ftbquests.quest.loot.WeightedReward;
+import dev.ftb.mods.ftbquests.quest.reward.Reward;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -113,28 +115,37 @@ public class LootCrateOpenerBlockEntity extends BlockEntity {
             return stack;
         }
 
+        if (simulate) {
+            // any valid crate is always fully accepted; no need to roll loot just to find that out
+            return ItemStack.EMPTY;
+        }
+
         ServerPlayer player = owner == null ? null : level.getServer().getPlayerList().getPlayer(owner);
         boolean update = false;
 
+        // roll the whole stack at once; each distinct reward is then handled in one pass, and all produced items
+        // are merged into the outputs together
         int nAttempts = stack.getCount();
-        for (WeightedReward wr : crate.getTable().generateWeightedRandomRewards(level.getRandom(), nAttempts, true)) {
-            List<ItemStack> stacks = new ArrayList<>();
-            if (wr.getReward().automatedClaimPre(this, stacks, level.random, owner, player)) {
-                update = true;
-
-                if (!simulate) {
-                    for (ItemStack stack1 : stacks) {
-                        ItemEntry entry = new ItemEntry(stack1);
-                        int newAmount = outputs.getOrDefault(entry, 0) + stack1.getCount();
-                        outputs.put(entry, newAmount);
-
-                    }
-                    wr.getReward().automatedClaimPost(this, owner, player);
+        List<ItemStack> stacks = new ArrayList<>();
+        for (Reference2IntMap.Entry<WeightedReward> rolled : crate.getTable().generateWeightedRandomRewardCounts(level.getRandom(), nAttempts, true).reference2IntEntrySet()) {
+            Reward reward = rolled.getKey().getReward();
+            for (int i = 0; i < rolled.getIntValue(); i++) {
+                int prevSize = stacks.size();
+                if (reward.automatedClaimPre(this, stacks, level.random, owner, player)) {
+                    update = true;
+                    reward.automatedClaimPost(this, owner, player);
+                } else {
+                    // a declined claim doesn't produce any items
+                    stacks.subList(prevSize, stacks.size()).clear();
                 }
             }
         }
 
-        if (update && !simulate) {
+        for (ItemStack stack1 : stacks) {
+            outputs.merge(new ItemEntry(stack1), stack1.getCount(), Integer::sum);
+        }
+
+        if (update) {
             setChanged();
         }
 
@@ -7,7 +7,6 @@ import dev.ftb.mods.ftblibrary.util.client.ClientUtils;
 import dev.ftb.mods.ftbquests.FTBQuests;
 import dev.ftb.mods.ftbquests.client.gui.CustomToast;
 import dev.ftb.mods.ftbquests.client.gui.quests.QuestScreen;
-import dev.ftb.mods.ftbquests.net.DeleteObjectMessage;
 import dev.ftb.mods.ftbquests.quest.*;
 import dev.ftb.mods.ftbquests.quest.task.StructureTask;
 import dev.ftb.mods.ftbquests.quest.theme.QuestTheme;
@@ -137,7 +136,7 @@ public class ClientQuestFile extends BaseQuestFile {
 
 	@Override
 	public void deleteObject(long id) {
-		new DeleteObjectMessage(id).sendToServer();
+		EditTransaction.delete(id);
 	}
 
 	@Override
@@ -0,0 +1,74 @@
+package dev.ftb.mods.ftbquests.client;
+
+import dev.ftb.mods.ftbquests.net.DeleteObjectMessage;
+import dev.ftb.mods.ftbquests.net.MoveMovableMessage;
+import dev.ftb.mods.ftbquests.quest.Chapter;
+import dev.ftb.mods.ftbquests.quest.Movable;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the moves and deletes made while acting on several objects at once (e.g. a multiple selection in the quest
+ * screen), and sends them as one message of each kind when done. The server applies each of those as a single
+ * transaction, with one rebuild of its caches; see {@link dev.ftb.mods.ftbquests.quest.QuestEditSession}.
+ * <p>
+ * Outside of {@link #run(Runnable)}, moves and deletes are sent straight away.
+ */
+public class EditTransaction {
+	@Nullable
+	private static EditTransaction current = null;
+
+	private final List<MoveMovableMessage.Move> moves = new ArrayList<>();
+	private final LongSet deletes = new LongLinkedOpenHashSet();
+
+	/**
+	 * Run some editing code, sending all the moves and deletes it makes together afterwards.
+	 */
+	public static void run(Runnable action) {
+		if (current != null) {
+			action.run();
+			return;
+		}
+
+		EditTransaction transaction = new EditTransaction();
+		current = transaction;
+		try {
+			action.run();
+		} finally {
+			current = null;
+			transaction.send();
+		}
+	}
+
+	public static void move(Movable movable, Chapter to, double x, double y) {
+		MoveMovableMessage.Move move = MoveMovableMessage.Move.of(movable, to.id, x, y);
+
+		if (current != null) {
+			current.moves.add(move);
+		} else {
+			new MoveMovableMessage(List.of(move)).sendToServer();
+		}
+	}
+
+	public static void delete(long id) {
+		if (current != null) {
+			current.deletes.add(id);
+		} else {
+			new DeleteObjectMessage(id).sendToServer();
+		}
+	}
+
+	private void send() {
+		if (!moves.isEmpty()) {
+			new MoveMovableMessage(moves).sendToServer();
+		}
+
+		if (!deletes.isEmpty()) {
+			new DeleteObjectMessage(deletes).sendToServer();
+		}
+	}
+}
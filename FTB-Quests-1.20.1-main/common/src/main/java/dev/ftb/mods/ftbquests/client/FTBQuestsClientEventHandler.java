@@ -55,7 +55,7 @@ public class FTBQuestsClientEventHandler {
 
 	static boolean creativeTabRebuildPending = false;
 
-	private List<ObservationTask> observationTasks = null;
+	private ObservationIndex observationIndex = null;
 	private ObservationTask currentlyObserving = null;
 	private long currentlyObservingTicks = 0L;
 	private final List<FormattedCharSequence> pinnedQuestText = new ArrayList<>();
@@ -125,7 +125,7 @@ public class FTBQuestsClientEventHandler {
 
 	private void onFileCacheClear(BaseQuestFile file) {
 		if (!file.isServerSide()) {
-			observationTasks = null;
+			observationIndex = null;
 		}
 	}
 
@@ -158,11 +158,11 @@ public class FTBQuestsClientEventHandler {
 		if (mc.level != null && ClientQuestFile.exists() && mc.player != null) {
 			collectPinnedQuests(ClientQuestFile.INSTANCE);
 
-			if (observationTasks == null) {
-				observationTasks = ClientQuestFile.INSTANCE.collect(ObservationTask.class);
+			if (observationIndex == null) {
+				observationIndex = new ObservationIndex(ClientQuestFile.INSTANCE);
 			}
 
-			if (observationTasks.isEmpty()) {
+			if (observationIndex.isEmpty()) {
 				return;
 			}
 
@@ -170,9 +170,8 @@ public class FTBQuestsClientEventHandler {
 
 			IslandData selfTeamData = ClientQuestFile.INSTANCE.selfTeamData;
 			if (mc.hitResult != null && mc.hitResult.getType() != HitResult.Type.MISS) {
-				for (ObservationTask task : observationTasks) {
-					if (!selfTeamData.isCompleted(task) && task.observe(mc.player, mc.hitResult)
-							&& selfTeamData.canStartTasks(task.getQuest())) {
+				for (ObservationTask task : observationIndex.getMatches(mc.player, mc.hitResult)) {
+					if (!selfTeamData.isCompleted(task) && selfTeamData.canStartTasks(task.getQuest())) {
 						currentlyObserving = task;
 						break;
 					}
@@ -9,9 +9,16 @@ import dev.ftb.mods.ftbquests.FTBQuests;
 import dev.ftb.mods.ftbquests.client.gui.*;
 import dev.ftb.mods.ftbquests.client.gui.quests.QuestScreen;
 import dev.ftb.mods.ftbquests.net.IslandDataUpdate;
+import dev.ftb.mods.ftbquests.net.MoveMovableMessage;
+import dev.ftb.mods.ftbquests.net.ObjectEditDelta;
+import dev.ftb.mods.ftbquests.net.RequestQuestsMessage;
 import dev.ftb.mods.ftbquests.quest.*;
 import dev.ftb.mods.ftbquests.quest.reward.Reward;
 import dev.ftb.mods.ftbquests.quest.task.Task;
+import it.unimi.dsi.fastutil.longs.Long2BooleanMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.LongList;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.nbt.CompoundTag;
@@ -20,11 +27,56 @@ import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.world.item.ItemStack;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Client side handling of server messages. Anything about the quest book or island data is ignored until the client
+ * has a quest book loaded; the server doesn't send such messages before then, but one can still be in flight when the
+ * book is replaced or the client disconnects.
+ */
 public class FTBQuestsNetClient {
+	public static void syncQuestsHash(String hash) {
+		EncodedQuestBook cached = QuestBookCache.read(hash);
+
+		if (cached != null) {
+			try {
+				loadBook(cached);
+				new RequestQuestsMessage(hash).sendToServer();
+				return;
+			} catch (Exception ex) {
+				FTBQuests.LOGGER.error("failed to load cached quest book {}, downloading it instead: {}", hash, ex.getMessage());
+			}
+		}
+
+		new RequestQuestsMessage("").sendToServer();
+	}
+
+	public static void receiveQuestsFrame(String hash, int uncompressedLength, int frameIndex, int frameCount, byte[] frame) {
+		EncodedQuestBook book = QuestBookDownload.receive(hash, uncompressedLength, frameIndex, frameCount, frame);
+
+		if (book != null) {
+			loadBook(book);
+			QuestBookCache.write(book);
+		}
+	}
+
+	private static void loadBook(EncodedQuestBook book) {
+		BaseQuestFile file = FTBQuestsClient.createClientQuestFile();
+		book.decodeInto(file);
+		ClientQuestFile.syncFromServer(file);
+		ClientQuestFile.INSTANCE.updateLootCrates();
+	}
+
 	public static void syncIslandData(boolean self, IslandData data) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		ClientQuestFile.INSTANCE.addData(data, true);
 
 		if (self) {
@@ -33,6 +85,10 @@ public class FTBQuestsNetClient {
 	}
 
 	public static void claimReward(UUID islandId, UUID player, long rewardId) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		Reward reward = ClientQuestFile.INSTANCE.getReward(rewardId);
 
 		if (reward == null) {
@@ -51,11 +107,45 @@ public class FTBQuestsNetClient {
 		}
 	}
 
+	public static void claimRewards(UUID islandId, UUID player, long[] rewardIds) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
+		List<Reward> rewards = new ArrayList<>(rewardIds.length);
+		for (long rewardId : rewardIds) {
+			Reward reward = ClientQuestFile.INSTANCE.getReward(rewardId);
+			if (reward != null) {
+				rewards.add(reward);
+			}
+		}
+
+		if (rewards.isEmpty()) {
+			return;
+		}
+
+		IslandData data = ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId);
+		data.claimRewards(player, rewards, System.currentTimeMillis());
+
+		if (data == ClientQuestFile.INSTANCE.selfTeamData) {
+			QuestScreen treeGui = ClientUtils.getCurrentGuiAs(QuestScreen.class);
+			if (treeGui != null) {
+				treeGui.refreshViewQuestPanel();
+				treeGui.otherButtonsTopPanel.refreshWidgets();
+			}
+		}
+	}
+
 	public static void createObject(long id, long parent, QuestObjectType type, CompoundTag nbt, @Nullable CompoundTag extra, UUID creator) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		QuestObjectBase object = ClientQuestFile.INSTANCE.create(id, type, parent, extra == null ? new CompoundTag() : extra);
 		object.readData(nbt);
 		object.onCreated();
-		ClientQuestFile.INSTANCE.refreshIDMap();
+		ClientQuestFile.INSTANCE.addToIDMap(object);
+		ClientQuestFile.INSTANCE.clearCachedData();
 		object.editedFromGUI();
 		FTBQuests.getRecipeModHelper().refreshRecipes(object);
 
@@ -86,19 +176,50 @@ public class FTBQuestsNetClient {
 		}
 	}
 
-	public static void deleteObject(long id) {
-		QuestObjectBase object = ClientQuestFile.INSTANCE.getBase(id);
+	public static void deleteObjects(LongList ids) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
 
-		if (object != null) {
-			object.deleteChildren();
-			object.deleteSelf();
-			ClientQuestFile.INSTANCE.refreshIDMap();
-			object.editedFromGUI();
-			FTBQuests.getRecipeModHelper().refreshRecipes(object);
+		List<QuestObjectBase> deleted = new ArrayList<>();
+
+		for (long id : ids) {
+			QuestObjectBase object = ClientQuestFile.INSTANCE.getBase(id);
+
+			if (object != null) {
+				object.deleteChildren();
+				object.deleteSelf();
+				deleted.add(object);
+			}
+
+			ClientQuestFile.INSTANCE.setObjectVersion(id, 0);
+		}
+
+		if (!deleted.isEmpty()) {
+			for (long id : ClientQuestFile.INSTANCE.getObjectVersions().keySet().toLongArray()) {
+				if (ClientQuestFile.INSTANCE.getBase(id) == null) {
+					ClientQuestFile.INSTANCE.setObjectVersion(id, 0);
+				}
+			}
+
+			ClientQuestFile.INSTANCE.clearCachedData();
+
+			// each kind of object refreshes the same parts of the GUI, so once per kind is enough
+			Set<Class<?>> refreshed = new HashSet<>();
+			for (QuestObjectBase object : deleted) {
+				if (refreshed.add(object.getClass())) {
+					object.editedFromGUI();
+				}
+				FTBQuests.getRecipeModHelper().refreshRecipes(object);
+			}
 		}
 	}
 
 	public static void displayCompletionToast(long id) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		QuestObject object = ClientQuestFile.INSTANCE.get(id);
 
 		if (object != null) {
@@ -126,6 +247,10 @@ public class FTBQuestsNetClient {
 	}
 
 	public static void displayRewardToast(long id, Component text, Icon icon) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		Icon i = icon.isEmpty() ? ClientQuestFile.INSTANCE.getBase(id).getIcon() : icon;
 
 		if (!IRewardListenerScreen.add(new RewardKey(text.getString(), i), 1)) {
@@ -133,18 +258,27 @@ public class FTBQuestsNetClient {
 		}
 	}
 
-	public static void editObject(long id, CompoundTag nbt) {
+	public static void editObject(ObjectEditDelta delta, int version) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
+		ClientQuestFile.INSTANCE.setObjectVersion(delta.id(), version);
 		ClientQuestFile.INSTANCE.clearCachedData();
-		QuestObjectBase object = ClientQuestFile.INSTANCE.getBase(id);
+		QuestObjectBase object = ClientQuestFile.INSTANCE.getBase(delta.id());
 
 		if (object != null) {
-			object.readData(nbt);
+			delta.applyTo(object);
 			object.editedFromGUI();
 			FTBQuests.getRecipeModHelper().refreshRecipes(object);
 		}
 	}
 
 	public static void moveChapter(long id, boolean movingUp) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		Chapter chapter = ClientQuestFile.INSTANCE.getChapter(id);
 
 		if (chapter != null && chapter.getGroup().moveChapterWithinGroup(chapter, movingUp)) {
@@ -156,17 +290,71 @@ public class FTBQuestsNetClient {
 		}
 	}
 
-	public static void moveQuest(long id, long chapter, double x, double y) {
-		if (ClientQuestFile.INSTANCE.get(id) instanceof Movable movable) {
-			movable.onMoved(x, y, chapter);
-			QuestScreen gui = ClientUtils.getCurrentGuiAs(QuestScreen.class);
-			if (gui != null) {
-				gui.questPanel.withPreservedPos(Panel::refreshWidgets);
+	public static void moveQuests(List<MoveMovableMessage.Move> moves) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
+		boolean moved = false;
+		boolean chapterChanged = false;
+
+		for (MoveMovableMessage.Move move : moves) {
+			ClientQuestFile.INSTANCE.setObjectVersion(move.id(), move.basedOn());
+
+			if (ClientQuestFile.INSTANCE.get(move.id()) instanceof Movable movable) {
+				chapterChanged |= movable.getChapter().id != move.chapterId();
+				movable.onMoved(move.x(), move.y(), move.chapterId());
+				moved = true;
+			}
+		}
+
+		if (chapterChanged) {
+			ClientQuestFile.INSTANCE.clearCachedData();
+		}
+
+		QuestScreen gui = ClientUtils.getCurrentGuiAs(QuestScreen.class);
+		if (moved && gui != null) {
+			gui.questPanel.withPreservedPos(Panel::refreshWidgets);
+			if (chapterChanged) {
+				gui.scheduleRefresh(true, false);
 			}
 		}
 	}
 
+	public static void editRejected(long id, int version, @Nullable CompoundTag data) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
+		ClientQuestFile.INSTANCE.setObjectVersion(id, version);
+		QuestObjectBase object = ClientQuestFile.INSTANCE.getBase(id);
+
+		if (object != null) {
+			if (data != null) {
+				ClientQuestFile.INSTANCE.clearCachedData();
+				object.readData(data);
+				object.editedFromGUI();
+				FTBQuests.getRecipeModHelper().refreshRecipes(object);
+			}
+
+			QuestScreen.displayError(Component.translatable("ftbquests.gui.edit_conflict", object.getTitle()));
+		}
+	}
+
+	public static void syncObjectVersions(Long2IntMap versions) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
+		ClientQuestFile.INSTANCE.getObjectVersions().clear();
+		ClientQuestFile.INSTANCE.getObjectVersions().putAll(versions);
+	}
+
 	public static void syncEditingMode(UUID islandId, boolean editingMode) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		if (ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId).setCanEdit(Minecraft.getInstance().player, editingMode)) {
 			setEditorPermission(editingMode);
 			ClientQuestFile.INSTANCE.refreshGui();
@@ -174,6 +362,10 @@ public class FTBQuestsNetClient {
 	}
 
 	public static void togglePinned(long id, boolean pinned) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		IslandData data = FTBQuestsClient.getClientPlayerData();
 		data.setQuestPinned(Minecraft.getInstance().player, id, pinned);
 
@@ -184,21 +376,69 @@ public class FTBQuestsNetClient {
 	}
 
 	public static void updateIslandData(UUID islandId, String name) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		IslandData data = ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId);
 		data.setName(name);
 	}
 
 	public static void updateTaskProgress(UUID islandId, long task, long progress) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		Task t = ClientQuestFile.INSTANCE.getTask(task);
 
 		if (t != null) {
-			IslandData data = ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId);
-			ClientQuestFile.INSTANCE.clearCachedProgress();
-			data.setProgress(t, progress);
+			// only this island's cached progress is affected, and setProgress() clears that itself
+			ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId).setProgress(t, progress);
+		}
+	}
+
+	public static void applyProgressDelta(UUID islandId, Long2LongMap progress, Long2BooleanMap started, Long2BooleanMap completed) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
+		IslandData data = ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId);
+
+		for (Long2LongMap.Entry entry : progress.long2LongEntrySet()) {
+			Task t = ClientQuestFile.INSTANCE.getTask(entry.getLongKey());
+			if (t != null) {
+				data.setProgress(t, entry.getLongValue());
+			}
+		}
+
+		Date now = new Date();
+		for (Long2BooleanMap.Entry entry : started.long2BooleanEntrySet()) {
+			data.setStarted(entry.getLongKey(), entry.getBooleanValue() ? now : null);
+		}
+		for (Long2BooleanMap.Entry entry : completed.long2BooleanEntrySet()) {
+			data.setCompleted(entry.getLongKey(), entry.getBooleanValue() ? now : null);
+		}
+
+		if (!started.isEmpty() || !completed.isEmpty()) {
+			// quest buttons and task progress are drawn from the island data each frame, so only panels built from
+			// completion state need rebuilding, and only when the changes are to our own island
+			if (data == ClientQuestFile.INSTANCE.selfTeamData) {
+				QuestScreen gui = ClientUtils.getCurrentGuiAs(QuestScreen.class);
+				if (gui != null) {
+					gui.scheduleRefresh(true, affectsViewedQuest(gui, started) || affectsViewedQuest(gui, completed));
+				}
+			}
+			for (Long2BooleanMap.Entry entry : completed.long2BooleanEntrySet()) {
+				FTBQuests.getRecipeModHelper().refreshRecipes(ClientQuestFile.INSTANCE.get(entry.getLongKey()));
+			}
 		}
 	}
 
 	public static void changeChapterGroup(long id, long newGroupId) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		Chapter chapter = ClientQuestFile.INSTANCE.getChapter(id);
 
 		if (chapter != null) {
@@ -214,32 +454,52 @@ public class FTBQuestsNetClient {
 	}
 
 	public static void moveChapterGroup(long id, boolean movingUp) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		ClientQuestFile.INSTANCE.moveChapterGroup(id, movingUp);
 	}
 
 	public static void objectStarted(UUID islandId, long id, @Nullable Date time) {
-		IslandData islandData = ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId);
-		islandData.setStarted(id, time);
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
 
-		refreshQuestScreenIfOpen();
+		IslandData islandData = ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId);
+		if (islandData.setStarted(id, time) && islandData == ClientQuestFile.INSTANCE.selfTeamData) {
+			scheduleQuestScreenRefresh(id);
+		}
 	}
 
 	public static void objectCompleted(UUID islandId, long id, @Nullable Date time) {
-		IslandData islandData = ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId);
-		islandData.setCompleted(id, time);
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
 
-		refreshQuestScreenIfOpen();
+		IslandData islandData = ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId);
+		if (islandData.setCompleted(id, time) && islandData == ClientQuestFile.INSTANCE.selfTeamData) {
+			scheduleQuestScreenRefresh(id);
+		}
 
 		FTBQuests.getRecipeModHelper().refreshRecipes(ClientQuestFile.INSTANCE.get(id));
 	}
 
 	public static void syncLock(UUID id, boolean lock) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		if (ClientQuestFile.INSTANCE.getOrCreateIslandData(id).setLocked(lock)) {
 			ClientQuestFile.INSTANCE.refreshGui();
 		}
 	}
 
 	public static void resetReward(UUID islandId, UUID player, long rewardId) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		Reward reward = ClientQuestFile.INSTANCE.getReward(rewardId);
         if (reward != null) {
             IslandData islandData = ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId);
@@ -250,20 +510,58 @@ public class FTBQuestsNetClient {
         }
     }
 
+	private static void scheduleQuestScreenRefresh(long changedId) {
+		QuestScreen gui = ClientUtils.getCurrentGuiAs(QuestScreen.class);
+		if (gui != null) {
+			gui.scheduleRefresh(true, affectsViewedQuest(gui, changedId));
+		}
+	}
+
+	private static boolean affectsViewedQuest(QuestScreen gui, Long2BooleanMap changes) {
+		for (long id : changes.keySet()) {
+			if (affectsViewedQuest(gui, id)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check if a change to the started/completed state of an object can change how the currently viewed quest is
+	 * shown, i.e. if it's that quest or one of its tasks, or one of its dependencies.
+	 */
+	private static boolean affectsViewedQuest(QuestScreen gui, long changedId) {
+		Quest viewed = gui.getViewedQuest();
+		if (viewed == null) {
+			return false;
+		}
+
+		QuestObject object = ClientQuestFile.INSTANCE.get(changedId);
+		Quest quest = object instanceof Task task ? task.getQuest() : object instanceof Quest q ? q : null;
+		return quest == viewed || object != null && viewed.hasDependency(object);
+	}
+
 	private static void refreshQuestScreenIfOpen() {
 		QuestScreen gui = ClientUtils.getCurrentGuiAs(QuestScreen.class);
 		if (gui != null) {
-			gui.refreshChapterPanel();
-			gui.refreshViewQuestPanel();
+			gui.scheduleRefresh(true, true);
 		}
 	}
 
 	public static void toggleChapterPinned(boolean pinned) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		ClientQuestFile.INSTANCE.selfTeamData.setChapterPinned(FTBQuestsClient.getClientPlayer(), pinned);
 		ClientQuestFile.INSTANCE.getQuestScreen().ifPresent(QuestScreen::refreshChapterPanel);
 	}
 
 	public static void syncRewardBlocking(UUID islandId, boolean rewardsBlocked) {
+		if (!ClientQuestFile.exists()) {
+			return;
+		}
+
 		if (ClientQuestFile.INSTANCE.getOrCreateIslandData(islandId).setRewardsBlocked(rewardsBlocked)) {
 			ClientQuestFile.INSTANCE.refreshGui();
 		}
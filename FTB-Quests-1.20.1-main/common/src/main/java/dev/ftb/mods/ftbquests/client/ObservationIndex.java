@@ -0,0 +1,152 @@
+package dev.ftb.mods.ftbquests.client;
+
+import dev.ftb.mods.ftbquests.quest.BaseQuestFile;
+import dev.ftb.mods.ftbquests.quest.task.ObservationTask;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.pattern.BlockInWorld;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.EntityHitResult;
+import net.minecraft.world.phys.HitResult;
+
+import java.util.*;
+
+/**
+ * Client-side index of observation tasks by the block, block entity or entity type they observe, so only the tasks
+ * which could match the player's current crosshair target are tested. Tasks observing a tag can't be indexed and are
+ * tested for every block (or entity) target.
+ * <p>
+ * The list of matching tasks is also remembered for the current target, and only recomputed when the target changes
+ * (or every {@link #RECHECK_INTERVAL} ticks, in case e.g. block entity data changes under the crosshair).
+ */
+class ObservationIndex {
+	private static final int RECHECK_INTERVAL = 20;
+
+	private final Map<Block, List<ObservationTask>> byBlock = new IdentityHashMap<>();
+	private final Map<BlockEntityType<?>, List<ObservationTask>> byBlockEntityType = new IdentityHashMap<>();
+	private final Map<EntityType<?>, List<ObservationTask>> byEntityType = new IdentityHashMap<>();
+	private final List<ObservationTask> anyBlock = new ArrayList<>();
+	private final List<ObservationTask> anyEntity = new ArrayList<>();
+	private final Reference2IntMap<ObservationTask> positions = new Reference2IntOpenHashMap<>();
+
+	private Object lastTarget = null;
+	private List<ObservationTask> lastMatches = List.of();
+	private int ticksSinceCheck = 0;
+
+	ObservationIndex(BaseQuestFile file) {
+		List<ObservationTask> tasks = file.collect(ObservationTask.class);
+
+		for (ObservationTask task : tasks) {
+			if (!task.canBeObserved()) {
+				continue;
+			}
+
+			positions.put(task, positions.size());
+
+			if (task.isEntityObservation()) {
+				EntityType<?> entityType = task.getObservedEntityType();
+				if (entityType != null) {
+					byEntityType.computeIfAbsent(entityType, k -> new ArrayList<>()).add(task);
+				} else {
+					anyEntity.add(task);
+				}
+			} else if (task.getObservedBlock() != null) {
+				byBlock.computeIfAbsent(task.getObservedBlock(), k -> new ArrayList<>()).add(task);
+			} else if (task.getObservedBlockEntityType() != null) {
+				byBlockEntityType.computeIfAbsent(task.getObservedBlockEntityType(), k -> new ArrayList<>()).add(task);
+			} else {
+				anyBlock.add(task);
+			}
+		}
+	}
+
+	boolean isEmpty() {
+		return positions.isEmpty();
+	}
+
+	/**
+	 * Get the observation tasks matching the player's current target, in quest file order.
+	 *
+	 * @param player the player
+	 * @param result the player's current hit result
+	 * @return the matching tasks, regardless of whether they're complete or can be started
+	 */
+	List<ObservationTask> getMatches(Player player, HitResult result) {
+		Object target = targetKey(player, result);
+
+		if (target == null) {
+			lastTarget = null;
+			lastMatches = List.of();
+		} else if (!target.equals(lastTarget) || ++ticksSinceCheck >= RECHECK_INTERVAL) {
+			lastTarget = target;
+			lastMatches = computeMatches(player, result);
+			ticksSinceCheck = 0;
+		}
+
+		return lastMatches;
+	}
+
+	private static Object targetKey(Player player, HitResult result) {
+		if (result instanceof BlockHitResult blockResult && result.getType() == HitResult.Type.BLOCK) {
+			BlockPos pos = blockResult.getBlockPos();
+			return new BlockTarget(pos, player.level().getBlockState(pos));
+		} else if (result instanceof EntityHitResult entityResult) {
+			return entityResult.getEntity();
+		}
+		return null;
+	}
+
+	private List<ObservationTask> computeMatches(Player player, HitResult result) {
+		List<ObservationTask> res = new ArrayList<>();
+
+		if (result instanceof BlockHitResult blockResult) {
+			BlockInWorld blockInWorld = new BlockInWorld(player.level(), blockResult.getBlockPos(), false);
+			BlockState state = blockInWorld.getState();
+			if (state == null) {
+				return List.of();
+			}
+
+			addMatches(res, byBlock.getOrDefault(state.getBlock(), List.of()), blockInWorld);
+			if (!byBlockEntityType.isEmpty()) {
+				BlockEntity blockEntity = blockInWorld.getEntity();
+				if (blockEntity != null) {
+					addMatches(res, byBlockEntityType.getOrDefault(blockEntity.getType(), List.of()), blockInWorld);
+				}
+			}
+			addMatches(res, anyBlock, blockInWorld);
+		} else if (result instanceof EntityHitResult entityResult) {
+			Entity entity = entityResult.getEntity();
+			res.addAll(byEntityType.getOrDefault(entity.getType(), List.of()));
+			for (ObservationTask task : anyEntity) {
+				if (task.observeEntity(entity)) {
+					res.add(task);
+				}
+			}
+		}
+
+		if (res.size() > 1) {
+			// first matching task in quest file order wins, as it always has
+			res.sort(Comparator.comparingInt(positions::getInt));
+		}
+		return res;
+	}
+
+	private static void addMatches(List<ObservationTask> res, List<ObservationTask> candidates, BlockInWorld blockInWorld) {
+		for (ObservationTask task : candidates) {
+			if (task.observeBlock(blockInWorld)) {
+				res.add(task);
+			}
+		}
+	}
+
+	private record BlockTarget(BlockPos pos, BlockState state) {
+	}
+}
@@ -0,0 +1,94 @@
+package dev.ftb.mods.ftbquests.client;
+
+import dev.ftb.mods.ftbquests.FTBQuests;
+import dev.ftb.mods.ftbquests.quest.EncodedQuestBook;
+import dev.ftb.mods.ftbquests.util.QuestFileWriter;
+import net.minecraft.client.Minecraft;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of quest books received from servers, keyed by the book's content hash, so that rejoining a server
+ * whose quests haven't changed doesn't need the whole book downloading again.
+ */
+class QuestBookCache {
+	private static final Pattern VALID_HASH = Pattern.compile("[0-9a-f]{64}");
+	private static final String EXTENSION = ".bin";
+	private static final int MAX_CACHED_BOOKS = 16;
+
+	private static Path getFolder() {
+		return Minecraft.getInstance().gameDirectory.toPath().resolve("local/ftbquests/book_cache");
+	}
+
+	/**
+	 * @param hash the book's hash, as sent by the server
+	 * @return the cached book, or null if there's no valid cached copy
+	 */
+	@Nullable
+	static EncodedQuestBook read(String hash) {
+		if (!VALID_HASH.matcher(hash).matches()) {
+			return null;
+		}
+
+		Path path = getFolder().resolve(hash + EXTENSION);
+		if (!Files.isRegularFile(path)) {
+			return null;
+		}
+
+		try {
+			byte[] data = Files.readAllBytes(path);
+			if (EncodedQuestBook.hash(data).equals(hash)) {
+				return new EncodedQuestBook(hash, data);
+			}
+			FTBQuests.LOGGER.warn("cached quest book {} is corrupt, ignoring it", hash);
+		} catch (IOException ex) {
+			FTBQuests.LOGGER.error("failed to read cached quest book {}: {}", hash, ex.getMessage());
+		}
+
+		return null;
+	}
+
+	static void write(EncodedQuestBook book) {
+		if (!VALID_HASH.matcher(book.hash()).matches()) {
+			return;
+		}
+
+		Path folder = getFolder();
+
+		try {
+			// a book cut short would only fail its hash check on reading, but would still push a good one out
+			QuestFileWriter.writeAtomically(folder.resolve(book.hash() + EXTENSION), book.data());
+			prune(folder);
+		} catch (IOException ex) {
+			FTBQuests.LOGGER.error("failed to cache quest book {}: {}", book.hash(), ex.getMessage());
+		}
+	}
+
+	private static void prune(Path folder) throws IOException {
+		List<Path> files;
+		try (Stream<Path> stream = Files.list(folder)) {
+			files = stream.filter(p -> p.getFileName().toString().endsWith(EXTENSION))
+					.sorted(Comparator.comparingLong(QuestBookCache::lastModified).reversed())
+					.toList();
+		}
+
+		for (int i = MAX_CACHED_BOOKS; i < files.size(); i++) {
+			Files.deleteIfExists(files.get(i));
+		}
+	}
+
+	private static long lastModified(Path path) {
+		try {
+			return Files.getLastModifiedTime(path).toMillis();
+		} catch (IOException ex) {
+			return 0L;
+		}
+	}
+}
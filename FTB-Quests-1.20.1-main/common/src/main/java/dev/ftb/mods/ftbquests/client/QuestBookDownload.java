@@ -0,0 +1,62 @@
+package dev.ftb.mods.ftbquests.client;
+
+import dev.ftb.mods.ftbquests.FTBQuests;
+import dev.ftb.mods.ftbquests.quest.EncodedQuestBook;
+import dev.ftb.mods.ftbquests.quest.QuestBookFrames;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+
+/**
+ * Collects the frames of a quest book being streamed from the server.
+ */
+class QuestBookDownload {
+	@Nullable
+	private static QuestBookDownload current = null;
+
+	private final String hash;
+	private final int uncompressedLength;
+	private final int frameCount;
+	private final List<byte[]> frames;
+
+	private QuestBookDownload(String hash, int uncompressedLength, int frameCount) {
+		this.hash = hash;
+		this.uncompressedLength = uncompressedLength;
+		this.frameCount = frameCount;
+		frames = new ArrayList<>(frameCount);
+	}
+
+	/**
+	 * Add a received frame.
+	 *
+	 * @return the complete book, if this was the last frame and the book is intact; otherwise null
+	 */
+	@Nullable
+	static EncodedQuestBook receive(String hash, int uncompressedLength, int frameIndex, int frameCount, byte[] frame) {
+		if (frameIndex == 0) {
+			// a new transfer always replaces any unfinished one
+			current = new QuestBookDownload(hash, uncompressedLength, frameCount);
+		}
+
+		QuestBookDownload download = current;
+		if (download == null || !download.hash.equals(hash) || download.frames.size() != frameIndex) {
+			FTBQuests.LOGGER.warn("ignoring unexpected quest book frame {}/{} for {}", frameIndex, frameCount, hash);
+			return null;
+		}
+
+		download.frames.add(frame);
+		if (download.frames.size() < download.frameCount) {
+			return null;
+		}
+
+		current = null;
+		try {
+			return QuestBookFrames.decompress(hash, download.uncompressedLength, QuestBookFrames.join(download.frames));
+		} catch (DataFormatException ex) {
+			FTBQuests.LOGGER.error("received corrupt quest book {}: {}", hash, ex.getMessage());
+			return null;
+		}
+	}
+}
@@ -14,6 +14,7 @@ import dev.ftb.mods.ftblibrary.ui.*;
 import dev.ftb.mods.ftblibrary.ui.input.Key;
 import dev.ftb.mods.ftblibrary.ui.input.MouseButton;
 import dev.ftb.mods.ftbquests.api.FTBQuestsAPI;
+import dev.ftb.mods.ftbquests.client.EditTransaction;
 import dev.ftb.mods.ftbquests.client.FTBQuestsClientConfig;
 import dev.ftb.mods.ftbquests.net.*;
 import dev.ftb.mods.ftbquests.quest.*;
@@ -419,9 +420,13 @@ public class QuestPanel extends Panel {
 					minY = Math.min(minY, q.getY());
 				}
 
-				for (Movable q : questScreen.selectedObjects) {
-					q.move(questScreen.selectedChapter, questX + (q.getX() - minX), questY + (q.getY() - minY));
-				}
+				double x0 = minX;
+				double y0 = minY;
+				EditTransaction.run(() -> {
+					for (Movable q : questScreen.selectedObjects) {
+						q.move(questScreen.selectedChapter, questX + (q.getX() - x0), questY + (q.getY() - y0));
+					}
+				});
 			}
 
 			questScreen.movingObjects = false;
@@ -14,6 +14,7 @@ import dev.ftb.mods.ftblibrary.util.TooltipList;
 import dev.ftb.mods.ftblibrary.util.client.ClientUtils;
 import dev.ftb.mods.ftbquests.api.FTBQuestsAPI;
 import dev.ftb.mods.ftbquests.client.ClientQuestFile;
+import dev.ftb.mods.ftbquests.client.EditTransaction;
 import dev.ftb.mods.ftbquests.client.FTBQuestsClient;
 import dev.ftb.mods.ftbquests.client.gui.CustomToast;
 import dev.ftb.mods.ftbquests.client.gui.FTBQuestsTheme;
@@ -56,6 +57,8 @@ public class QuestScreen extends BaseScreen {
 	int zoom = 16;
 	static boolean grid = false;
 	private PersistedData pendingPersistedData;
+	private boolean chapterPanelRefreshPending = false;
+	private boolean viewQuestPanelRefreshPending = false;
 
 	public final QuestPanel questPanel;
 	public final OtherButtonsPanelBottom otherButtonsBottomPanel;
@@ -103,6 +106,29 @@ public class QuestScreen extends BaseScreen {
 		viewQuestPanel.refreshWidgets();
 	}
 
+	/**
+	 * Request that panels be rebuilt before the screen is next drawn. Any number of requests made between frames
+	 * (e.g. from a stream of progress updates) result in at most one rebuild of each panel.
+	 *
+	 * @param chapterPanel rebuild the chapter panel
+	 * @param viewQuestPanel rebuild the quest view panel
+	 */
+	public void scheduleRefresh(boolean chapterPanel, boolean viewQuestPanel) {
+		chapterPanelRefreshPending |= chapterPanel;
+		viewQuestPanelRefreshPending |= viewQuestPanel;
+	}
+
+	private void runScheduledRefreshes() {
+		if (chapterPanelRefreshPending) {
+			chapterPanelRefreshPending = false;
+			refreshChapterPanel();
+		}
+		if (viewQuestPanelRefreshPending) {
+			viewQuestPanelRefreshPending = false;
+			refreshViewQuestPanel();
+		}
+	}
+
 	@Override
 	public boolean doesGuiPauseGame() {
 		return ClientQuestFile.INSTANCE.isPauseGame();
@@ -335,11 +361,13 @@ public class QuestScreen extends BaseScreen {
 	}
 
 	private boolean moveSelectedQuests(double x, double y) {
-		for (Movable movable : selectedObjects) {
-			if (movable.getChapter() == selectedChapter) {
-				movable.move(selectedChapter, movable.getX() + x, movable.getY() + y);
+		EditTransaction.run(() -> {
+			for (Movable movable : selectedObjects) {
+				if (movable.getChapter() == selectedChapter) {
+					movable.move(selectedChapter, movable.getX() + x, movable.getY() + y);
+				}
 			}
-		}
+		});
 
 		return true;
 	}
@@ -415,7 +443,7 @@ public class QuestScreen extends BaseScreen {
 	}
 
 	void deleteSelectedObjects() {
-		selectedObjects.forEach(movable -> {
+		EditTransaction.run(() -> selectedObjects.forEach(movable -> {
 			if (movable instanceof Quest q) {
 				file.deleteObject(q.id);
 			} else if (movable instanceof QuestLink ql) {
@@ -424,7 +452,7 @@ public class QuestScreen extends BaseScreen {
 				img.getChapter().removeImage(img);
 				new EditObjectMessage(img.getChapter()).sendToServer();
 			}
-		});
+		}));
 		selectedObjects.clear();
 	}
 
@@ -606,6 +634,8 @@ public class QuestScreen extends BaseScreen {
 
 	@Override
 	public void drawBackground(GuiGraphics graphics, Theme theme, int x, int y, int w, int h) {
+		runScheduledRefreshes();
+
 		QuestTheme.currentObject = selectedChapter;
 		super.drawBackground(graphics, theme, x, y, w, h);
 
@@ -19,6 +19,7 @@ import dev.ftb.mods.ftbquests.quest.reward.ItemReward;
 import dev.ftb.mods.ftbquests.quest.task.ItemTask;
 import dev.ftb.mods.ftbquests.quest.task.Task;
 import dev.ftb.mods.ftbquests.util.ProgressChange;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
 import net.minecraft.ChatFormatting;
 import net.minecraft.Util;
 import net.minecraft.commands.CommandSourceStack;
@@ -153,6 +154,13 @@ public class FTBQuestsCommands {
 						.then(Commands.argument("quest_object", StringArgumentType.string())
 								.executes(c -> openQuest(c.getSource().getPlayerOrException(), StringArgumentType.getString(c, "quest_object"))))
 				)
+				.then(Commands.literal("metrics")
+						.requires(s -> s.hasPermission(2))
+						.executes(c -> showNetworkMetrics(c.getSource()))
+						.then(Commands.literal("reset")
+								.executes(c -> resetNetworkMetrics(c.getSource()))
+						)
+				)
 				.then(Commands.literal("clear_item_display_cache")
 						.requires(FTBQuestsCommands::hasEditorPermission)
 						.executes(c -> clearDisplayCache(c.getSource()))
@@ -275,11 +283,11 @@ public class FTBQuestsCommands {
 		}
 
 		file.addRewardTable(table);
-		file.refreshIDMap();
+		file.addToIDMap(table);
 		file.clearCachedData();
 		file.markDirty();
 
-		new CreateObjectResponseMessage(table, null).sendToAll(level.getServer());
+		QuestBookTransfers.sendBookChange(level.getServer(), new CreateObjectResponseMessage(table, null));
 
 		source.sendSuccess(() -> Component.translatable("commands.ftbquests.command.feedback.table_imported", name, table.getWeightedRewards().size()), false);
 
@@ -348,12 +356,13 @@ public class FTBQuestsCommands {
 		long newId = ServerQuestFile.INSTANCE.newID();
 		Chapter chapter = new Chapter(newId, ServerQuestFile.INSTANCE, ServerQuestFile.INSTANCE.getDefaultChapterGroup());
 		chapter.onCreated();
+		ServerQuestFile.INSTANCE.addToIDMap(chapter);
 
 		chapter.setRawTitle("Generated chapter of all items in search creative tab [" + allItems.size() + "]");
 		chapter.setRawIcon(new ItemStack(Items.COMPASS));
 		chapter.setDefaultQuestShape("rsquare");
 
-		new CreateObjectResponseMessage(chapter, null).sendToAll(source.getServer());
+		QuestBookTransfers.sendBookChange(source.getServer(), new CreateObjectResponseMessage(chapter, null));
 
 		//noinspection DataFlowIssue
 		List<ItemStack> list = allItems.stream()
@@ -363,6 +372,7 @@ public class FTBQuestsCommands {
 		FTBQuests.LOGGER.info("Found {} items in total, chapter ID: {}", allItems.size(), chapter);
 
 		if (list.isEmpty()) {
+			ServerQuestFile.INSTANCE.clearCachedData();
 			return 0;
 		}
 
@@ -383,23 +393,26 @@ public class FTBQuestsCommands {
 
 			Quest quest = new Quest(chapter.file.newID(), chapter);
 			quest.onCreated();
+			chapter.file.addToIDMap(quest);
 			quest.setX(col);
 			quest.setY(row);
 			quest.setRawSubtitle(stack.save(new CompoundTag()).toString());
 
-			new CreateObjectResponseMessage(quest, null).sendToAll(source.getServer());
+			QuestBookTransfers.sendBookChange(source.getServer(), new CreateObjectResponseMessage(quest, null));
 
 			ItemTask task = new ItemTask(chapter.file.newID(), quest);
 			task.onCreated();
+			chapter.file.addToIDMap(task);
 			task.setStackAndCount(stack, 1).setConsumeItems(Tristate.TRUE);
 
 			CompoundTag extra = new CompoundTag();
 			extra.putString("type", task.getType().getTypeForNBT());
-			new CreateObjectResponseMessage(task, extra).sendToAll(source.getServer());
+			QuestBookTransfers.sendBookChange(source.getServer(), new CreateObjectResponseMessage(task, extra));
 
 			col++;
 		}
 
+		ServerQuestFile.INSTANCE.clearCachedData();
 		ServerQuestFile.INSTANCE.markDirty();
 		ServerQuestFile.INSTANCE.saveNow();
 		source.sendSuccess(() -> Component.literal("Done!"), false);
@@ -418,7 +431,9 @@ public class FTBQuestsCommands {
 		}
 
 		instance.load();
-		new SyncQuestsMessage(instance).sendToAll(source.getServer());
+		// every client has to ask for the reloaded book, and is sent no updates until it has it
+		QuestBookTransfers.bookReplaced();
+		new SyncQuestsHashMessage(instance.getEncodedBook().hash()).sendToAll(source.getServer());
 		source.getServer().getPlayerList().getPlayers()
 				.forEach(p -> new SyncEditorPermissionMessage(PermissionsHelper.hasEditorPermission(p, false)).sendTo(p));
 
@@ -449,4 +464,20 @@ public class FTBQuestsCommands {
 		source.sendSuccess(() -> Component.translatable("commands.ftbquests.command.feedback.clear_display_cache"), false);
 		return Command.SINGLE_SUCCESS;
 	}
+
+	private static int showNetworkMetrics(CommandSourceStack source) {
+		NetworkMetrics.Report report = NetworkMetrics.report(15);
+		source.sendSuccess(() -> Component.translatable("commands.ftbquests.command.feedback.metrics", report.seconds(), report.typeCount()).withStyle(ChatFormatting.YELLOW), false);
+		for (NetworkMetrics.Report.Line line : report.lines()) {
+			String key = line.encoded() ? "commands.ftbquests.command.feedback.metrics.encoded" : "commands.ftbquests.command.feedback.metrics.decoded";
+			source.sendSuccess(() -> Component.translatable(key, line.type(), line.stats()).withStyle(ChatFormatting.GRAY), false);
+		}
+		return Command.SINGLE_SUCCESS;
+	}
+
+	private static int resetNetworkMetrics(CommandSourceStack source) {
+		NetworkMetrics.reset();
+		source.sendSuccess(() -> Component.translatable("commands.ftbquests.command.feedback.metrics_reset"), false);
+		return Command.SINGLE_SUCCESS;
+	}
 }
@@ -1,23 +1,32 @@
 package dev.ftb.mods.ftbquests.config;
 
-import dev.ftb.mods.ftblibrary.config.ConfigGroup;
+import dev.ftb.mods.ftblibrary.snbt.config.BooleanValue;
+import dev.ftb.mods.ftblibrary.snbt.config.ConfigUtil;
+import dev.ftb.mods.ftblibrary.snbt.config.IntValue;
+import dev.ftb.mods.ftblibrary.snbt.config.SNBTConfig;
+import dev.ftb.mods.ftblibrary.snbt.config.StringValue;
+import dev.ftb.mods.ftbquests.api.FTBQuestsAPI;
 import net.minecraft.server.MinecraftServer;
 
-import java.util.regex.Pattern;
-
 public class FTBQuestsTeamConfig {
-    public static final ConfigGroup CONFIG = new ConfigGroup("ftbquests-teams");
+    public static final SNBTConfig CONFIG = SNBTConfig.create(FTBQuestsAPI.MOD_ID + "-teams");
 
-    public static String API_BASE_URL = "http://nestworld.site:8000/api/v1/";
+    public static final SNBTConfig ISLAND_INTEGRATION = CONFIG.addGroup("island_integration");
+    public static final StringValue API_BASE_URL = ISLAND_INTEGRATION.addString("api_base_url", "http://nestworld.site:8000/api/v1/");
 
-    public static void register() {
-        ConfigGroup islandGroup = CONFIG.getOrCreateSubgroup("island_integration");
+    public static final SNBTConfig STORAGE = CONFIG.addGroup("storage");
+    public static final BooleanValue BINARY_ISLAND_DATA = STORAGE.addBoolean("binary_island_data", false)
+            .comment("When enabled, island progress is saved in the compact binary format instead of SNBT; existing files are migrated on their next save");
 
-        islandGroup.addString("api_base_url", API_BASE_URL, v -> API_BASE_URL = v, "http://localhost:8000/api/v1/");
-    }
+    public static final SNBTConfig DIAGNOSTICS = CONFIG.addGroup("diagnostics");
+    public static final IntValue NETWORK_METRICS_LOG_MINUTES = DIAGNOSTICS.addInt("network_metrics_log_minutes", 0, 0, 1440)
+            .comment("When above 0, network metrics (see /ftbquests metrics) are written to the log and reset every this many minutes");
 
+    /**
+     * Load the config from the world's serverconfig folder, creating it (from defaultconfigs, if there's a copy there)
+     * if it doesn't exist yet.
+     */
     public static void load(MinecraftServer server) {
-        // This is a simplified loader. A full implementation would use FTBLibraryServerConfig.load().
-        // For this task, relying on the static default and registration is sufficient.
+        ConfigUtil.loadDefaulted(CONFIG, server.getWorldPath(ConfigUtil.SERVER_CONFIG_DIR), FTBQuestsAPI.MOD_ID);
     }
 }
@@ -1,6 +1,7 @@
 package dev.ftb.mods.ftbquests.events;
 
 import dev.ftb.mods.ftbquests.net.DisplayCompletionToastMessage;
+import dev.ftb.mods.ftbquests.net.MessageBatcher;
 import dev.ftb.mods.ftbquests.quest.IslandData;
 import dev.ftb.mods.ftbquests.quest.QuestObject;
 import net.minecraft.server.level.ServerPlayer;
@@ -34,7 +35,7 @@ public final class QuestProgressEventData<T extends QuestObject> {
 	}
 
 	public void notifyPlayers(long id) {
-		notifiedPlayers.forEach(player -> new DisplayCompletionToastMessage(id).sendTo(player));
+		MessageBatcher.queue(notifiedPlayers, new DisplayCompletionToastMessage(id));
 	}
 
 	public Date getTime() {
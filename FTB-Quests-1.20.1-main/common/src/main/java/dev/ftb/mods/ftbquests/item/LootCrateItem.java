@@ -4,6 +4,8 @@ import dev.ftb.mods.ftbquests.client.ClientQuestFile;
 import dev.ftb.mods.ftbquests.client.gui.RewardNotificationsScreen;
 import dev.ftb.mods.ftbquests.quest.loot.LootCrate;
 import dev.ftb.mods.ftbquests.quest.loot.WeightedReward;
+import dev.ftb.mods.ftbquests.quest.reward.RewardClaimBatch;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.ChatFormatting;
@@ -56,10 +58,18 @@ public class LootCrateItem extends Item {
 		int nItems = player.isCrouching() ? stack.getCount() : 1;
 
 		if (!world.isClientSide) {
-			for (WeightedReward wr : crate.getTable().generateWeightedRandomRewards(player.getRandom(), nItems, true)) {
-				wr.getReward().claim((ServerPlayer) player, true);
+			ServerPlayer sp = (ServerPlayer) player;
+			RewardClaimBatch batch = new RewardClaimBatch();
+
+			// roll all the crates at once, then grant the merged items in one go, with one toast per item type
+			for (Reference2IntMap.Entry<WeightedReward> entry : crate.getTable().generateWeightedRandomRewardCounts(player.getRandom(), nItems, true).reference2IntEntrySet()) {
+				for (int i = 0; i < entry.getIntValue(); i++) {
+					entry.getKey().getReward().claim(sp, true, batch);
+				}
 			}
 
+			batch.grant(sp, true);
+
 			world.playSound(null, player.getX(), player.getY(), player.getZ(), SoundEvents.ITEM_BREAK, SoundSource.PLAYERS, 0.8F, 0.8F + world.random.nextFloat() * 0.4F);
 		} else {
 			new RewardNotificationsScreen().openGui();
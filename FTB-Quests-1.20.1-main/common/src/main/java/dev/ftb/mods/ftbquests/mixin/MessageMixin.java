@@ -0,0 +1,22 @@
+package dev.ftb.mods.ftbquests.mixin;
+
+import dev.architectury.networking.simple.Message;
+import dev.ftb.mods.ftbquests.net.NetworkMetrics;
+import net.minecraft.network.FriendlyByteBuf;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+/**
+ * Measures message encoding for {@link NetworkMetrics}. Optional, since it targets Architectury internals; if it
+ * doesn't apply, only decoding is measured.
+ */
+@Mixin(value = Message.class, remap = false)
+public abstract class MessageMixin {
+    @Redirect(method = "toPacket", at = @At(value = "INVOKE", target = "Ldev/architectury/networking/simple/Message;write"), require = 0)
+    private void onWrite(Message message, FriendlyByteBuf buf) {
+        long start = System.nanoTime();
+        message.write(buf);
+        NetworkMetrics.recordEncode(message.getType().getId(), message.getType().getSide(), buf.writerIndex(), System.nanoTime() - start);
+    }
+}
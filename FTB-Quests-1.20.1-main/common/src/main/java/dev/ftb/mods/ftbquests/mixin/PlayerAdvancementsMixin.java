@@ -0,0 +1,24 @@
+package dev.ftb.mods.ftbquests.mixin;
+
+import dev.ftb.mods.ftbquests.util.StatAndAdvancementListener;
+import net.minecraft.advancements.Advancement;
+import net.minecraft.server.PlayerAdvancements;
+import net.minecraft.server.level.ServerPlayer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(PlayerAdvancements.class)
+public class PlayerAdvancementsMixin {
+    @Shadow
+    private ServerPlayer player;
+
+    @Inject(method = "award", at = @At("RETURN"))
+    private void onAward(Advancement advancement, String criterion, CallbackInfoReturnable<Boolean> cir) {
+        if (cir.getReturnValue()) {
+            StatAndAdvancementListener.criterionGranted(player, advancement, criterion);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.ftb.mods.ftbquests.net;
+
+import dev.architectury.networking.NetworkManager;
+import dev.architectury.networking.simple.BaseS2CMessage;
+import dev.architectury.networking.simple.MessageDecoder;
+import dev.architectury.networking.simple.MessageType;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envelope for several server-to-client messages sent in one packet; see {@link MessageBatcher}. Each message is
+ * framed as its type's registration index plus its length-prefixed payload, and on the client, is decoded with its
+ * usual decoder and handled in order.
+ */
+public class BatchedMessagesMessage extends BaseS2CMessage {
+	// S2C messages are registered in the same order on both sides, so the index identifies the type
+	private static final List<MessageDecoder<? extends BaseS2CMessage>> DECODERS = new ArrayList<>();
+	private static final Map<ResourceLocation, Integer> TYPE_INDICES = new HashMap<>();
+
+	private final List<Entry> entries;
+	private final List<BaseS2CMessage> messages;
+
+	static void registerType(MessageType type, MessageDecoder<? extends BaseS2CMessage> decoder) {
+		TYPE_INDICES.put(type.getId(), DECODERS.size());
+		DECODERS.add(decoder);
+	}
+
+	/**
+	 * Encode a message for inclusion in a batch. The result can be shared between the batches of several players.
+	 */
+	static Entry encode(BaseS2CMessage message) {
+		Integer typeIndex = TYPE_INDICES.get(message.getType().getId());
+		if (typeIndex == null) {
+			throw new IllegalArgumentException("not an FTB Quests message: " + message.getType().getId());
+		}
+
+		FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+		try {
+			long start = System.nanoTime();
+			message.write(buf);
+			byte[] data = new byte[buf.readableBytes()];
+			buf.readBytes(data);
+			NetworkMetrics.recordEncode(message.getType().getId(), NetworkManager.Side.S2C, data.length, System.nanoTime() - start);
+			return new Entry(typeIndex, data);
+		} finally {
+			buf.release();
+		}
+	}
+
+	BatchedMessagesMessage(FriendlyByteBuf buffer) {
+		int count = buffer.readVarInt();
+		messages = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			MessageDecoder<? extends BaseS2CMessage> decoder = DECODERS.get(buffer.readVarInt());
+			FriendlyByteBuf data = new FriendlyByteBuf(buffer.readSlice(buffer.readVarInt()));
+			messages.add(decoder.decode(data));
+		}
+		entries = List.of();
+	}
+
+	BatchedMessagesMessage(List<Entry> entries) {
+		this.entries = entries;
+		messages = List.of();
+	}
+
+	@Override
+	public MessageType getType() {
+		return FTBQuestsNetHandler.BATCHED_MESSAGES;
+	}
+
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeVarInt(entries.size());
+		for (Entry entry : entries) {
+			buffer.writeVarInt(entry.typeIndex());
+			buffer.writeVarInt(entry.data().length);
+			buffer.writeBytes(entry.data());
+		}
+	}
+
+	@Override
+	public void handle(NetworkManager.PacketContext context) {
+		for (BaseS2CMessage message : messages) {
+			message.handle(context);
+		}
+	}
+
+	record Entry(int typeIndex, byte[] data) {
+	}
+}
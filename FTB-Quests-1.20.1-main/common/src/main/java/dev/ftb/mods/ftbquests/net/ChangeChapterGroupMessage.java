@@ -7,6 +7,7 @@ import dev.ftb.mods.ftbquests.quest.Chapter;
 import dev.ftb.mods.ftbquests.quest.ChapterGroup;
 import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
 import dev.ftb.mods.ftbquests.util.NetUtils;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
 import net.minecraft.network.FriendlyByteBuf;
 
 public class ChangeChapterGroupMessage extends BaseC2SMessage {
@@ -46,7 +47,7 @@ public class ChangeChapterGroupMessage extends BaseC2SMessage {
 					group.addChapter(chapter);
 					chapter.file.clearCachedData();
 					chapter.file.markDirty();
-					new ChangeChapterGroupResponseMessage(chapterId, groupId).sendToAll(context.getPlayer().getServer());
+					QuestBookTransfers.sendBookChange(context.getPlayer().getServer(), new ChangeChapterGroupResponseMessage(chapterId, groupId));
 				}
 			}
 		}
@@ -5,9 +5,13 @@ import dev.architectury.networking.simple.BaseC2SMessage;
 import dev.architectury.networking.simple.MessageType;
 import dev.ftb.mods.ftbquests.quest.IslandData;
 import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
+import dev.ftb.mods.ftbquests.quest.reward.Reward;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.level.ServerPlayer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author LatvianModder
  */
@@ -36,12 +40,17 @@ public class ClaimAllRewardsMessage extends BaseC2SMessage {
 			return;
 		}
 
+		List<Reward> toClaim = new ArrayList<>();
 		ServerQuestFile.INSTANCE.forAllQuests(quest -> {
 			if (data.isCompleted(quest)) {
-				quest.getRewards().stream()
-						.filter(reward -> !reward.getExcludeFromClaimAll())
-						.forEach(reward -> data.claimReward(player, reward, true));
+				for (Reward reward : quest.getRewards()) {
+					if (!reward.getExcludeFromClaimAll() && !data.isRewardClaimed(player.getUUID(), reward)) {
+						toClaim.add(reward);
+					}
+				}
 			}
 		});
+
+		data.claimRewards(player, toClaim, true);
 	}
 }
\ No newline at end of file
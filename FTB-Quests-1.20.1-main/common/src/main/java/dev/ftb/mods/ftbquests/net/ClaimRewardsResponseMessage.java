@@ -0,0 +1,49 @@
+package dev.ftb.mods.ftbquests.net;
+
+import dev.architectury.networking.NetworkManager;
+import dev.architectury.networking.simple.BaseS2CMessage;
+import dev.architectury.networking.simple.MessageType;
+import dev.ftb.mods.ftbquests.client.FTBQuestsNetClient;
+import dev.ftb.mods.ftbquests.quest.reward.Reward;
+import net.minecraft.network.FriendlyByteBuf;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Batched version of {@link ClaimRewardResponseMessage}, sent once for all the rewards claimed in one transaction.
+ */
+public class ClaimRewardsResponseMessage extends BaseS2CMessage {
+	private final UUID team;
+	private final UUID player;
+	private final long[] rewards;
+
+	ClaimRewardsResponseMessage(FriendlyByteBuf buffer) {
+		team = buffer.readUUID();
+		player = buffer.readUUID();
+		rewards = buffer.readLongArray();
+	}
+
+	public ClaimRewardsResponseMessage(UUID t, UUID p, Collection<Reward> r) {
+		team = t;
+		player = p;
+		rewards = r.stream().mapToLong(reward -> reward.id).toArray();
+	}
+
+	@Override
+	public MessageType getType() {
+		return FTBQuestsNetHandler.CLAIM_REWARDS_RESPONSE;
+	}
+
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeUUID(team);
+		buffer.writeUUID(player);
+		buffer.writeLongArray(rewards);
+	}
+
+	@Override
+	public void handle(NetworkManager.PacketContext context) {
+		FTBQuestsNetClient.claimRewards(team, player, rewards);
+	}
+}
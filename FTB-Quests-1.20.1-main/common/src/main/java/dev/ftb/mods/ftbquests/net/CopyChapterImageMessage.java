@@ -37,8 +37,6 @@ public class CopyChapterImageMessage extends BaseC2SMessage {
     @Override
     public void handle(NetworkManager.PacketContext context) {
         Chapter chapter = img.getChapter();
-        chapter.addImage(img);
-        chapter.file.markDirty();
-        new EditObjectResponseMessage(chapter).sendToAll(context.getPlayer().getServer());
+        ServerQuestFile.INSTANCE.applyEdit(chapter, context.getPlayer().getUUID(), () -> chapter.addImage(img));
     }
 }
@@ -8,6 +8,7 @@ import dev.ftb.mods.ftbquests.quest.reward.Reward;
 import dev.ftb.mods.ftbquests.quest.reward.RewardType;
 import dev.ftb.mods.ftbquests.quest.task.Task;
 import dev.ftb.mods.ftbquests.quest.task.TaskType;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.MinecraftServer;
@@ -63,39 +64,41 @@ public class CopyQuestMessage extends BaseC2SMessage {
             newQuest.setX(qx);
             newQuest.setY(qy);
             newQuest.onCreated();
+            file.addToIDMap(newQuest);
 
             // deep copy of all tasks and rewards
             toCopy.getTasks().forEach(task -> {
                 Task newTask = QuestObjectBase.copy(task, () -> TaskType.createTask(file.newID(), newQuest, task.getType().getTypeForNBT()));
                 if (newTask != null) {
                     newTask.onCreated();
+                    file.addToIDMap(newTask);
                 }
             });
             for (Reward reward : toCopy.getRewards()) {
                 Reward newReward = QuestObjectBase.copy(reward, () -> RewardType.createReward(file.newID(), newQuest, reward.getType().getTypeForNBT()));
                 if (newReward != null) {
                     newReward.onCreated();
+                    file.addToIDMap(newReward);
                 }
             }
 
             // sync new objects to clients
             MinecraftServer server = context.getPlayer().getServer();
-            new CreateObjectResponseMessage(newQuest, null).sendToAll(server);
+            QuestBookTransfers.sendBookChange(server, new CreateObjectResponseMessage(newQuest, null));
             newQuest.getTasks().forEach(task -> {
                 CompoundTag extra = new CompoundTag();
                 extra.putString("type", task.getType().getTypeForNBT());
-                new CreateObjectResponseMessage(task, extra).sendToAll(server);
+                QuestBookTransfers.sendBookChange(server, new CreateObjectResponseMessage(task, extra));
             });
             newQuest.getRewards().forEach(reward -> {
                 CompoundTag extra = new CompoundTag();
                 extra.putString("type", reward.getType().getTypeForNBT());
-                new CreateObjectResponseMessage(reward, extra).sendToAll(server);
+                QuestBookTransfers.sendBookChange(server, new CreateObjectResponseMessage(reward, extra));
             });
 
             // and update the server quest map etc.
-            ServerQuestFile.INSTANCE.refreshIDMap();
             ServerQuestFile.INSTANCE.clearCachedData();
-            ServerQuestFile.INSTANCE.markDirty();
+            ServerQuestFile.INSTANCE.markDirty(newQuest);
         }
     }
 }
@@ -7,6 +7,7 @@ import dev.ftb.mods.ftbquests.quest.QuestObjectBase;
 import dev.ftb.mods.ftbquests.quest.QuestObjectType;
 import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
 import dev.ftb.mods.ftbquests.util.NetUtils;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
 import net.minecraft.Util;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
@@ -61,11 +62,11 @@ public class CreateObjectMessage extends BaseC2SMessage {
 			QuestObjectBase object = ServerQuestFile.INSTANCE.create(ServerQuestFile.INSTANCE.newID(), type, parent, extra == null ? new CompoundTag() : extra);
 			object.readData(nbt);
 			object.onCreated();
-			object.getQuestFile().refreshIDMap();
+			object.getQuestFile().addToIDMap(object);
 			object.getQuestFile().clearCachedData();
-			object.getQuestFile().markDirty();
+			object.getQuestFile().markDirty(object);
 
-			new CreateObjectResponseMessage(object, extra, openScreen ? sp.getUUID() : Util.NIL_UUID).sendToAll(sp.getServer());
+			QuestBookTransfers.sendBookChange(sp.getServer(), new CreateObjectResponseMessage(object, extra, openScreen ? sp.getUUID() : Util.NIL_UUID));
 		}
 	}
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
 import dev.ftb.mods.ftbquests.quest.task.Task;
 import dev.ftb.mods.ftbquests.quest.task.TaskType;
 import dev.ftb.mods.ftbquests.util.NetUtils;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.level.ServerPlayer;
@@ -61,18 +62,19 @@ public class CreateTaskAtMessage extends BaseC2SMessage {
 				quest.setX(x);
 				quest.setY(y);
 				quest.onCreated();
-				new CreateObjectResponseMessage(quest, null).sendToAll(sp.getServer());
+				file.addToIDMap(quest);
+				QuestBookTransfers.sendBookChange(sp.getServer(), new CreateObjectResponseMessage(quest, null));
 
 				Task task = type.createTask(file.newID(), quest);
 				task.readData(nbt);
 				task.onCreated();
+				file.addToIDMap(task);
 				CompoundTag extra = new CompoundTag();
 				extra.putString("type", type.getTypeForNBT());
-				new CreateObjectResponseMessage(task, extra, sp.getUUID()).sendToAll(sp.getServer());
+				QuestBookTransfers.sendBookChange(sp.getServer(), new CreateObjectResponseMessage(task, extra, sp.getUUID()));
 
-				file.refreshIDMap();
 				file.clearCachedData();
-				file.markDirty();
+				file.markDirty(task);
 			}
 		}
 	}
@@ -3,22 +3,45 @@ package dev.ftb.mods.ftbquests.net;
 import dev.architectury.networking.NetworkManager;
 import dev.architectury.networking.simple.BaseC2SMessage;
 import dev.architectury.networking.simple.MessageType;
+import dev.ftb.mods.ftbquests.client.ClientQuestFile;
 import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
 import dev.ftb.mods.ftbquests.util.NetUtils;
+import it.unimi.dsi.fastutil.longs.Long2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.LongCollection;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
 
 /**
  * @author LatvianModder
  */
 public class DeleteObjectMessage extends BaseC2SMessage {
-	private final long id;
+	// object id -> the version of the object the client had when deleting it
+	private final Long2IntMap basedOn;
 
 	DeleteObjectMessage(FriendlyByteBuf buffer) {
-		id = buffer.readLong();
+		// decoded before the sender's permissions are checked, so the count can't be trusted to size anything;
+		// each entry is at least a long and a one byte varint
+		int n = Math.min(buffer.readVarInt(), buffer.readableBytes() / 9);
+		basedOn = new Long2IntLinkedOpenHashMap(n);
+		for (int i = 0; i < n; i++) {
+			basedOn.put(buffer.readLong(), buffer.readVarInt());
+		}
 	}
 
 	public DeleteObjectMessage(long i) {
-		id = i;
+		basedOn = new Long2IntLinkedOpenHashMap(1);
+		basedOn.put(i, ClientQuestFile.INSTANCE.getObjectVersion(i));
+	}
+
+	/**
+	 * Delete several objects as one transaction; see {@link dev.ftb.mods.ftbquests.quest.QuestEditSession}.
+	 */
+	public DeleteObjectMessage(LongCollection ids) {
+		basedOn = new Long2IntLinkedOpenHashMap(ids.size());
+		for (long id : ids) {
+			basedOn.put(id, ClientQuestFile.INSTANCE.getObjectVersion(id));
+		}
 	}
 
 	@Override
@@ -28,13 +51,17 @@ public class DeleteObjectMessage extends BaseC2SMessage {
 
 	@Override
 	public void write(FriendlyByteBuf buffer) {
-		buffer.writeLong(id);
+		buffer.writeVarInt(basedOn.size());
+		for (Long2IntMap.Entry entry : basedOn.long2IntEntrySet()) {
+			buffer.writeLong(entry.getLongKey());
+			buffer.writeVarInt(entry.getIntValue());
+		}
 	}
 
 	@Override
 	public void handle(NetworkManager.PacketContext context) {
-		if (NetUtils.canEdit(context)) {
-			ServerQuestFile.INSTANCE.deleteObject(id);
+		if (NetUtils.canEdit(context) && context.getPlayer() instanceof ServerPlayer player) {
+			ServerQuestFile.INSTANCE.getEditSession().delete(player, basedOn);
 		}
 	}
-}
\ No newline at end of file
+}
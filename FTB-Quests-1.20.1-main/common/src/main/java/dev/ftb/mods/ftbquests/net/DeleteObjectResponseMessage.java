@@ -4,20 +4,30 @@ import dev.architectury.networking.NetworkManager;
 import dev.architectury.networking.simple.BaseS2CMessage;
 import dev.architectury.networking.simple.MessageType;
 import dev.ftb.mods.ftbquests.client.FTBQuestsNetClient;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
 import net.minecraft.network.FriendlyByteBuf;
 
 /**
  * @author LatvianModder
  */
 public class DeleteObjectResponseMessage extends BaseS2CMessage {
-	private final long id;
+	private final LongList ids;
 
 	DeleteObjectResponseMessage(FriendlyByteBuf buffer) {
-		id = buffer.readLong();
+		int n = buffer.readVarInt();
+		ids = new LongArrayList(n);
+		for (int i = 0; i < n; i++) {
+			ids.add(buffer.readLong());
+		}
 	}
 
 	public DeleteObjectResponseMessage(long i) {
-		id = i;
+		this(LongList.of(i));
+	}
+
+	public DeleteObjectResponseMessage(LongList ids) {
+		this.ids = ids;
 	}
 
 	@Override
@@ -27,11 +37,14 @@ public class DeleteObjectResponseMessage extends BaseS2CMessage {
 
 	@Override
 	public void write(FriendlyByteBuf buffer) {
-		buffer.writeLong(id);
+		buffer.writeVarInt(ids.size());
+		for (long id : ids) {
+			buffer.writeLong(id);
+		}
 	}
 
 	@Override
 	public void handle(NetworkManager.PacketContext context) {
-		FTBQuestsNetClient.deleteObject(id);
+		FTBQuestsNetClient.deleteObjects(ids);
 	}
-}
\ No newline at end of file
+}
@@ -10,21 +10,25 @@ import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
 import dev.ftb.mods.ftbquests.util.NetUtils;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
 
 /**
  * @author LatvianModder
  */
 public class EditObjectMessage extends BaseC2SMessage {
 	private final long id;
+	private final int basedOn;
 	private final CompoundTag nbt;
 
 	EditObjectMessage(FriendlyByteBuf buffer) {
 		id = buffer.readLong();
+		basedOn = buffer.readVarInt();
 		nbt = buffer.readNbt();
 	}
 
 	public EditObjectMessage(QuestObjectBase o) {
 		id = o.id;
+		basedOn = ClientQuestFile.INSTANCE.getObjectVersion(o.id);
 		nbt = new CompoundTag();
 		o.writeData(nbt);
 		FTBQuests.getRecipeModHelper().refreshRecipes(o);
@@ -39,21 +43,14 @@ public class EditObjectMessage extends BaseC2SMessage {
 	@Override
 	public void write(FriendlyByteBuf buffer) {
 		buffer.writeLong(id);
+		buffer.writeVarInt(basedOn);
 		buffer.writeNbt(nbt);
 	}
 
 	@Override
 	public void handle(NetworkManager.PacketContext context) {
-		if (NetUtils.canEdit(context)) {
-			QuestObjectBase object = ServerQuestFile.INSTANCE.getBase(id);
-
-			if (object != null) {
-				object.readData(nbt);
-				object.editedFromGUIOnServer();
-				ServerQuestFile.INSTANCE.clearCachedData();
-				ServerQuestFile.INSTANCE.markDirty();
-				new EditObjectResponseMessage(object).sendToAll(context.getPlayer().getServer());
-			}
+		if (NetUtils.canEdit(context) && context.getPlayer() instanceof ServerPlayer player) {
+			ServerQuestFile.INSTANCE.getEditSession().edit(player, id, basedOn, nbt);
 		}
 	}
 }
\ No newline at end of file
@@ -4,26 +4,27 @@ import dev.architectury.networking.NetworkManager;
 import dev.architectury.networking.simple.BaseS2CMessage;
 import dev.architectury.networking.simple.MessageType;
 import dev.ftb.mods.ftbquests.client.FTBQuestsNetClient;
-import dev.ftb.mods.ftbquests.quest.QuestObjectBase;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
 
 /**
  * @author LatvianModder
  */
 public class EditObjectResponseMessage extends BaseS2CMessage {
-	private final long id;
-	private final CompoundTag nbt;
+	private final ObjectEditDelta delta;
+	private final int version;
 
 	EditObjectResponseMessage(FriendlyByteBuf buffer) {
-		id = buffer.readLong();
-		nbt = buffer.readNbt();
+		delta = ObjectEditDelta.read(buffer);
+		version = buffer.readVarInt();
 	}
 
-	public EditObjectResponseMessage(QuestObjectBase o) {
-		id = o.id;
-		nbt = new CompoundTag();
-		o.writeData(nbt);
+	/**
+	 * @param delta the change made to the object
+	 * @param version the object's version after the change
+	 */
+	public EditObjectResponseMessage(ObjectEditDelta delta, int version) {
+		this.delta = delta;
+		this.version = version;
 	}
 
 	@Override
@@ -33,12 +34,12 @@ public class EditObjectResponseMessage extends BaseS2CMessage {
 
 	@Override
 	public void write(FriendlyByteBuf buffer) {
-		buffer.writeLong(id);
-		buffer.writeNbt(nbt);
+		delta.write(buffer);
+		buffer.writeVarInt(version);
 	}
 
 	@Override
 	public void handle(NetworkManager.PacketContext context) {
-		FTBQuestsNetClient.editObject(id, nbt);
+		FTBQuestsNetClient.editObject(delta, version);
 	}
-}
\ No newline at end of file
+}
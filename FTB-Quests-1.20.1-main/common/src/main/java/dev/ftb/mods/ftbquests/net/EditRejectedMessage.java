@@ -0,0 +1,54 @@
+package dev.ftb.mods.ftbquests.net;
+
+import dev.architectury.networking.NetworkManager;
+import dev.architectury.networking.simple.BaseS2CMessage;
+import dev.architectury.networking.simple.MessageType;
+import dev.ftb.mods.ftbquests.client.FTBQuestsNetClient;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tells an editor that their change to an object wasn't applied, because someone else changed the object first; see
+ * {@link dev.ftb.mods.ftbquests.quest.QuestEditSession}.
+ */
+public class EditRejectedMessage extends BaseS2CMessage {
+	private final long id;
+	private final int version;
+	@Nullable
+	private final CompoundTag data;
+
+	EditRejectedMessage(FriendlyByteBuf buffer) {
+		id = buffer.readLong();
+		version = buffer.readVarInt();
+		data = buffer.readNbt();
+	}
+
+	/**
+	 * @param id the object's id
+	 * @param version the object's current version
+	 * @param data the object's current data, if the client had already applied the rejected change to its copy
+	 */
+	public EditRejectedMessage(long id, int version, @Nullable CompoundTag data) {
+		this.id = id;
+		this.version = version;
+		this.data = data;
+	}
+
+	@Override
+	public MessageType getType() {
+		return FTBQuestsNetHandler.EDIT_REJECTED;
+	}
+
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeLong(id);
+		buffer.writeVarInt(version);
+		buffer.writeNbt(data);
+	}
+
+	@Override
+	public void handle(NetworkManager.PacketContext context) {
+		FTBQuestsNetClient.editRejected(id, version, data);
+	}
+}
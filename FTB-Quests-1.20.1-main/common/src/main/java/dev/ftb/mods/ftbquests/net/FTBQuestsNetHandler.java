@@ -1,6 +1,10 @@
 package dev.ftb.mods.ftbquests.net;
 
 import dev.architectury.injectables.annotations.ExpectPlatform;
+import dev.architectury.networking.NetworkManager;
+import dev.architectury.networking.simple.BaseC2SMessage;
+import dev.architectury.networking.simple.BaseS2CMessage;
+import dev.architectury.networking.simple.MessageDecoder;
 import dev.architectury.networking.simple.MessageType;
 import dev.architectury.networking.simple.SimpleNetworkManager;
 import dev.ftb.mods.ftbquests.api.FTBQuestsAPI;
@@ -10,67 +14,91 @@ import net.minecraft.world.item.ItemStack;
 public interface FTBQuestsNetHandler {
 	SimpleNetworkManager NET = SimpleNetworkManager.create(FTBQuestsAPI.MOD_ID);
 
-	MessageType SYNC_QUESTS = NET.registerS2C("sync_quests", SyncQuestsMessage::new);
-	MessageType SYNC_ISLAND_DATA = NET.registerS2C("sync_island_data", SyncIslandDataMessage::new);
-	MessageType UPDATE_TASK_PROGRESS = NET.registerS2C("update_task_progress", UpdateTaskProgressMessage::new);
-	MessageType SUBMIT_TASK = NET.registerC2S("submit_task", SubmitTaskMessage::new);
-	MessageType CLAIM_REWARD = NET.registerC2S("claim_reward", ClaimRewardMessage::new);
-	MessageType CLAIM_REWARD_RESPONSE = NET.registerS2C("claim_reward_response", ClaimRewardResponseMessage::new);
-	MessageType SYNC_EDITING_MODE = NET.registerS2C("sync_editing_mode", SyncEditingModeMessage::new);
-	MessageType GET_EMERGENCY_ITEMS = NET.registerC2S("get_emergency_items", GetEmergencyItemsMessage::new);
-	MessageType CREATE_OTHER_ISLAND_DATA = NET.registerS2C("create_other_island_data", CreateOtherIslandDataMessage::new);
-	MessageType CLAIM_ALL_REWARDS = NET.registerC2S("claim_all_rewards", ClaimAllRewardsMessage::new);
-	MessageType CLAIM_CHOICE_REWARD = NET.registerC2S("claim_choice_reward", ClaimChoiceRewardMessage::new);
-	MessageType DISPLAY_COMPLETION_TOAST = NET.registerS2C("display_completion_toast", DisplayCompletionToastMessage::new);
-	MessageType DISPLAY_REWARD_TOAST = NET.registerS2C("display_reward_toast", DisplayRewardToastMessage::new);
-	MessageType DISPLAY_ITEM_REWARD_TOAST = NET.registerS2C("display_item_reward_toast", DisplayItemRewardToastMessage::new);
-	MessageType TOGGLE_PINNED = NET.registerC2S("toggle_pinned", TogglePinnedMessage::new);
-	MessageType TOGGLE_PINNED_RESPONSE = NET.registerS2C("toggle_pinned_response", TogglePinnedResponseMessage::new);
-	MessageType TOGGLE_CHAPTER_PINNED = NET.registerC2S("toggle_chapter_pinned", ToggleChapterPinnedMessage::new);
-	MessageType TOGGLE_CHAPTER_PINNED_RESPONSE = NET.registerS2C("toggle_chapter_pinned_response", ToggleChapterPinnedResponseMessage::new);
-	MessageType TOGGLE_EDITING_MODE = NET.registerC2S("toggle_editing_mode", ToggleEditingModeMessage::new);
-	MessageType FORCE_SAVE = NET.registerC2S("force_save", ForceSaveMessage::new);
-	MessageType UPDATE_ISLAND_DATA = NET.registerS2C("update_island_data", UpdateIslandDataMessage::new);
-	MessageType SET_CUSTOM_IMAGE = NET.registerC2S("set_custom_image", SetCustomImageMessage::new);
-	MessageType OBJECT_STARTED = NET.registerS2C("object_started", ObjectStartedMessage::new);
-	MessageType OBJECT_COMPLETED = NET.registerS2C("object_completed", ObjectCompletedMessage::new);
-	MessageType OBJECT_STARTED_RESET = NET.registerS2C("object_started_reset", ObjectStartedResetMessage::new);
-	MessageType OBJECT_COMPLETED_RESET = NET.registerS2C("object_completed_reset", ObjectCompletedResetMessage::new);
-	MessageType SYNC_LOCK = NET.registerS2C("sync_lock", SyncLockMessage::new);
-	MessageType RESET_REWARD = NET.registerS2C("reset_reward", ResetRewardMessage::new);
-	MessageType ISLAND_DATA_CHANGED = NET.registerS2C("island_data_changed", IslandDataChangedMessage::new);
-	MessageType TASK_SCREEN_CONFIG_REQ = NET.registerS2C("task_screen_config_req", TaskScreenConfigRequest::new);
-	MessageType TASK_SCREEN_CONFIG_RESP = NET.registerC2S("task_screen_config_resp", TaskScreenConfigResponse::new);
+	MessageType SYNC_QUESTS = s2c("sync_quests", SyncQuestsMessage::new);
+	MessageType SYNC_QUESTS_HASH = s2c("sync_quests_hash", SyncQuestsHashMessage::new);
+	MessageType REQUEST_QUESTS = c2s("request_quests", RequestQuestsMessage::new);
+	MessageType SYNC_ISLAND_DATA = s2c("sync_island_data", SyncIslandDataMessage::new);
+	MessageType UPDATE_TASK_PROGRESS = s2c("update_task_progress", UpdateTaskProgressMessage::new);
+	MessageType SUBMIT_TASK = c2s("submit_task", SubmitTaskMessage::new);
+	MessageType CLAIM_REWARD = c2s("claim_reward", ClaimRewardMessage::new);
+	MessageType CLAIM_REWARD_RESPONSE = s2c("claim_reward_response", ClaimRewardResponseMessage::new);
+	MessageType CLAIM_REWARDS_RESPONSE = s2c("claim_rewards_response", ClaimRewardsResponseMessage::new);
+	MessageType SYNC_EDITING_MODE = s2c("sync_editing_mode", SyncEditingModeMessage::new);
+	MessageType GET_EMERGENCY_ITEMS = c2s("get_emergency_items", GetEmergencyItemsMessage::new);
+	MessageType CREATE_OTHER_ISLAND_DATA = s2c("create_other_island_data", CreateOtherIslandDataMessage::new);
+	MessageType CLAIM_ALL_REWARDS = c2s("claim_all_rewards", ClaimAllRewardsMessage::new);
+	MessageType CLAIM_CHOICE_REWARD = c2s("claim_choice_reward", ClaimChoiceRewardMessage::new);
+	MessageType DISPLAY_COMPLETION_TOAST = s2c("display_completion_toast", DisplayCompletionToastMessage::new);
+	MessageType DISPLAY_REWARD_TOAST = s2c("display_reward_toast", DisplayRewardToastMessage::new);
+	MessageType DISPLAY_ITEM_REWARD_TOAST = s2c("display_item_reward_toast", DisplayItemRewardToastMessage::new);
+	MessageType TOGGLE_PINNED = c2s("toggle_pinned", TogglePinnedMessage::new);
+	MessageType TOGGLE_PINNED_RESPONSE = s2c("toggle_pinned_response", TogglePinnedResponseMessage::new);
+	MessageType TOGGLE_CHAPTER_PINNED = c2s("toggle_chapter_pinned", ToggleChapterPinnedMessage::new);
+	MessageType TOGGLE_CHAPTER_PINNED_RESPONSE = s2c("toggle_chapter_pinned_response", ToggleChapterPinnedResponseMessage::new);
+	MessageType TOGGLE_EDITING_MODE = c2s("toggle_editing_mode", ToggleEditingModeMessage::new);
+	MessageType FORCE_SAVE = c2s("force_save", ForceSaveMessage::new);
+	MessageType UPDATE_ISLAND_DATA = s2c("update_island_data", UpdateIslandDataMessage::new);
+	MessageType SET_CUSTOM_IMAGE = c2s("set_custom_image", SetCustomImageMessage::new);
+	MessageType OBJECT_STARTED = s2c("object_started", ObjectStartedMessage::new);
+	MessageType OBJECT_COMPLETED = s2c("object_completed", ObjectCompletedMessage::new);
+	MessageType OBJECT_STARTED_RESET = s2c("object_started_reset", ObjectStartedResetMessage::new);
+	MessageType OBJECT_COMPLETED_RESET = s2c("object_completed_reset", ObjectCompletedResetMessage::new);
+	MessageType ISLAND_PROGRESS_DELTA = s2c("island_progress_delta", IslandProgressDeltaMessage::new);
+	MessageType SYNC_LOCK = s2c("sync_lock", SyncLockMessage::new);
+	MessageType RESET_REWARD = s2c("reset_reward", ResetRewardMessage::new);
+	MessageType ISLAND_DATA_CHANGED = s2c("island_data_changed", IslandDataChangedMessage::new);
+	MessageType TASK_SCREEN_CONFIG_REQ = s2c("task_screen_config_req", TaskScreenConfigRequest::new);
+	MessageType TASK_SCREEN_CONFIG_RESP = c2s("task_screen_config_resp", TaskScreenConfigResponse::new);
 
-	MessageType CHANGE_PROGRESS = NET.registerC2S("change_progress", ChangeProgressMessage::new);
-	MessageType CREATE_OBJECT = NET.registerC2S("create_object", CreateObjectMessage::new);
-	MessageType CREATE_OBJECT_RESPONSE = NET.registerS2C("create_object_response", CreateObjectResponseMessage::new);
-	MessageType CREATE_TASK_AT = NET.registerC2S("create_task_at", CreateTaskAtMessage::new);
-	MessageType DELETE_OBJECT = NET.registerC2S("delete_object", DeleteObjectMessage::new);
-	MessageType DELETE_OBJECT_RESPONSE = NET.registerS2C("delete_object_response", DeleteObjectResponseMessage::new);
-	MessageType EDIT_OBJECT = NET.registerC2S("edit_object", EditObjectMessage::new);
-	MessageType EDIT_OBJECT_RESPONSE = NET.registerS2C("edit_object_response", EditObjectResponseMessage::new);
-	MessageType MOVE_CHAPTER = NET.registerC2S("move_chapter", MoveChapterMessage::new);
-	MessageType MOVE_CHAPTER_RESPONSE = NET.registerS2C("move_chapter_response", MoveChapterResponseMessage::new);
-	MessageType MOVE_QUEST = NET.registerC2S("move_quest", MoveMovableMessage::new);
-	MessageType MOVE_QUEST_RESPONSE = NET.registerS2C("move_quest_response", MoveMovableResponseMessage::new);
-	MessageType CHANGE_CHAPTER_GROUP = NET.registerC2S("change_chapter_group", ChangeChapterGroupMessage::new);
-	MessageType CHANGE_CHAPTER_GROUP_RESPONSE = NET.registerS2C("change_chapter_group_response", ChangeChapterGroupResponseMessage::new);
-	MessageType MOVE_CHAPTER_GROUP = NET.registerC2S("move_chapter_group", MoveChapterGroupMessage::new);
-	MessageType MOVE_CHAPTER_GROUP_RESPONSE = NET.registerS2C("move_chapter_group_response", MoveChapterGroupResponseMessage::new);
-	MessageType SYNC_REWARD_BLOCKING = NET.registerS2C("sync_reward_blocking", SyncRewardBlockingMessage::new);
-	MessageType COPY_QUEST = NET.registerC2S("copy_quest", CopyQuestMessage::new);
-	MessageType COPY_CHAPTER_IMAGE = NET.registerC2S("copy_chapter_image", CopyChapterImageMessage::new);
-	MessageType SYNC_STRUCTURES_REQUEST = NET.registerC2S("sync_structures_request", SyncStructuresRequestMessage::new);
-	MessageType SYNC_STRUCTURES_RESPONSE = NET.registerS2C("sync_structures_response", SyncStructuresResponseMessage::new);
-	MessageType REQUEST_ISLAND_DATA = NET.registerC2S("request_island_data", RequestIslandDataMessage::new);
-	MessageType SYNC_EDITOR_PERMISSION = NET.registerS2C("sync_editor_permission", SyncEditorPermissionMessage::new);
-	MessageType OPEN_QUEST_BOOK = NET.registerS2C("open_quest_book", OpenQuestBookMessage::new);
-	MessageType CLEAR_DISPLAY_CACHE = NET.registerS2C("clear_display_cache", ClearDisplayCacheMessage::new);
+	MessageType CHANGE_PROGRESS = c2s("change_progress", ChangeProgressMessage::new);
+	MessageType CREATE_OBJECT = c2s("create_object", CreateObjectMessage::new);
+	MessageType CREATE_OBJECT_RESPONSE = s2c("create_object_response", CreateObjectResponseMessage::new);
+	MessageType CREATE_TASK_AT = c2s("create_task_at", CreateTaskAtMessage::new);
+	MessageType DELETE_OBJECT = c2s("delete_object", DeleteObjectMessage::new);
+	MessageType DELETE_OBJECT_RESPONSE = s2c("delete_object_response", DeleteObjectResponseMessage::new);
+	MessageType EDIT_OBJECT = c2s("edit_object", EditObjectMessage::new);
+	MessageType EDIT_OBJECT_RESPONSE = s2c("edit_object_response", EditObjectResponseMessage::new);
+	MessageType EDIT_REJECTED = s2c("edit_rejected", EditRejectedMessage::new);
+	MessageType SYNC_OBJECT_VERSIONS = s2c("sync_object_versions", SyncObjectVersionsMessage::new);
+	MessageType MOVE_CHAPTER = c2s("move_chapter", MoveChapterMessage::new);
+	MessageType MOVE_CHAPTER_RESPONSE = s2c("move_chapter_response", MoveChapterResponseMessage::new);
+	MessageType MOVE_QUEST = c2s("move_quest", MoveMovableMessage::new);
+	MessageType MOVE_QUEST_RESPONSE = s2c("move_quest_response", MoveMovableResponseMessage::new);
+	MessageType CHANGE_CHAPTER_GROUP = c2s("change_chapter_group", ChangeChapterGroupMessage::new);
+	MessageType CHANGE_CHAPTER_GROUP_RESPONSE = s2c("change_chapter_group_response", ChangeChapterGroupResponseMessage::new);
+	MessageType MOVE_CHAPTER_GROUP = c2s("move_chapter_group", MoveChapterGroupMessage::new);
+	MessageType MOVE_CHAPTER_GROUP_RESPONSE = s2c("move_chapter_group_response", MoveChapterGroupResponseMessage::new);
+	MessageType SYNC_REWARD_BLOCKING = s2c("sync_reward_blocking", SyncRewardBlockingMessage::new);
+	MessageType COPY_QUEST = c2s("copy_quest", CopyQuestMessage::new);
+	MessageType COPY_CHAPTER_IMAGE = c2s("copy_chapter_image", CopyChapterImageMessage::new);
+	MessageType SYNC_STRUCTURES_REQUEST = c2s("sync_structures_request", SyncStructuresRequestMessage::new);
+	MessageType SYNC_STRUCTURES_RESPONSE = s2c("sync_structures_response", SyncStructuresResponseMessage::new);
+	MessageType SYNC_EDITOR_PERMISSION = s2c("sync_editor_permission", SyncEditorPermissionMessage::new);
+	MessageType OPEN_QUEST_BOOK = s2c("open_quest_book", OpenQuestBookMessage::new);
+	MessageType CLEAR_DISPLAY_CACHE = s2c("clear_display_cache", ClearDisplayCacheMessage::new);
+	MessageType BATCHED_MESSAGES = s2c("batched_messages", BatchedMessagesMessage::new);
 
 	static void init() {
 	}
 
+	/**
+	 * Register a server-to-client message, with its decoding measured by {@link NetworkMetrics}, and make it
+	 * available for batching by {@link MessageBatcher}.
+	 */
+	private static <T extends BaseS2CMessage> MessageType s2c(String id, MessageDecoder<T> decoder) {
+		MessageDecoder<T> metered = NetworkMetrics.metered(id, NetworkManager.Side.S2C, decoder);
+		MessageType type = NET.registerS2C(id, metered);
+		BatchedMessagesMessage.registerType(type, metered);
+		return type;
+	}
+
+	/**
+	 * Register a client-to-server message, with its decoding measured by {@link NetworkMetrics}.
+	 */
+	private static <T extends BaseC2SMessage> MessageType c2s(String id, MessageDecoder<T> decoder) {
+		return NET.registerC2S(id, NetworkMetrics.metered(id, NetworkManager.Side.C2S, decoder));
+	}
+
 	@ExpectPlatform
 	static void writeItemType(FriendlyByteBuf buffer, ItemStack stack) {
 		throw new AssertionError();
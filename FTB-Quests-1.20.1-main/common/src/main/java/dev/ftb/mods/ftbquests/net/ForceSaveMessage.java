@@ -29,8 +29,7 @@ public class ForceSaveMessage extends BaseC2SMessage {
 	public void handle(NetworkManager.PacketContext context) {
 		ServerPlayer player = (ServerPlayer) context.getPlayer();
 		if (PermissionsHelper.hasEditorPermission(player, false)) {
-			ServerQuestFile.INSTANCE.markDirty();
-			ServerQuestFile.INSTANCE.saveNow();
+			ServerQuestFile.INSTANCE.forceSave();
 			player.displayClientMessage(Component.translatable("ftbquests.gui.saved_on_server"), false);
 		}
 	}
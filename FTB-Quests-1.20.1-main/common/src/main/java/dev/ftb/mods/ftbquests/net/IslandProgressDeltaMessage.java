@@ -0,0 +1,87 @@
+package dev.ftb.mods.ftbquests.net;
+
+import dev.architectury.networking.NetworkManager;
+import dev.architectury.networking.simple.BaseS2CMessage;
+import dev.architectury.networking.simple.MessageType;
+import dev.ftb.mods.ftbquests.client.FTBQuestsNetClient;
+import dev.ftb.mods.ftbquests.quest.PendingProgressDelta;
+import it.unimi.dsi.fastutil.longs.Long2BooleanLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2BooleanMap;
+import it.unimi.dsi.fastutil.longs.Long2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import net.minecraft.network.FriendlyByteBuf;
+
+import java.util.UUID;
+
+/**
+ * All task progress, started and completed changes for an island during one server tick. Replaces individual
+ * {@link UpdateTaskProgressMessage}, {@link ObjectStartedMessage}, {@link ObjectCompletedMessage},
+ * {@link ObjectStartedResetMessage} and {@link ObjectCompletedResetMessage} packets for changes made in-game.
+ */
+public class IslandProgressDeltaMessage extends BaseS2CMessage {
+	private final UUID islandId;
+	private final Long2LongMap progress;
+	private final Long2BooleanMap started;
+	private final Long2BooleanMap completed;
+
+	IslandProgressDeltaMessage(FriendlyByteBuf buffer) {
+		islandId = buffer.readUUID();
+
+		progress = new Long2LongLinkedOpenHashMap();
+		int progressCount = buffer.readVarInt();
+		for (int i = 0; i < progressCount; i++) {
+			progress.put(buffer.readLong(), buffer.readVarLong());
+		}
+
+		started = readFlags(buffer);
+		completed = readFlags(buffer);
+	}
+
+	public IslandProgressDeltaMessage(UUID islandId, PendingProgressDelta delta) {
+		this.islandId = islandId;
+		progress = new Long2LongLinkedOpenHashMap(delta.getProgress());
+		started = new Long2BooleanLinkedOpenHashMap(delta.getStarted());
+		completed = new Long2BooleanLinkedOpenHashMap(delta.getCompleted());
+	}
+
+	@Override
+	public MessageType getType() {
+		return FTBQuestsNetHandler.ISLAND_PROGRESS_DELTA;
+	}
+
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeUUID(islandId);
+
+		buffer.writeVarInt(progress.size());
+		for (Long2LongMap.Entry entry : progress.long2LongEntrySet()) {
+			buffer.writeLong(entry.getLongKey());
+			buffer.writeVarLong(entry.getLongValue());
+		}
+
+		writeFlags(buffer, started);
+		writeFlags(buffer, completed);
+	}
+
+	private static void writeFlags(FriendlyByteBuf buffer, Long2BooleanMap flags) {
+		buffer.writeVarInt(flags.size());
+		for (Long2BooleanMap.Entry entry : flags.long2BooleanEntrySet()) {
+			buffer.writeLong(entry.getLongKey());
+			buffer.writeBoolean(entry.getBooleanValue());
+		}
+	}
+
+	private static Long2BooleanMap readFlags(FriendlyByteBuf buffer) {
+		Long2BooleanMap flags = new Long2BooleanLinkedOpenHashMap();
+		int count = buffer.readVarInt();
+		for (int i = 0; i < count; i++) {
+			flags.put(buffer.readLong(), buffer.readBoolean());
+		}
+		return flags;
+	}
+
+	@Override
+	public void handle(NetworkManager.PacketContext context) {
+		FTBQuestsNetClient.applyProgressDelta(islandId, progress, started, completed);
+	}
+}
@@ -0,0 +1,70 @@
+package dev.ftb.mods.ftbquests.net;
+
+import dev.architectury.networking.simple.BaseS2CMessage;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.*;
+
+/**
+ * Collects small server-to-client messages (progress deltas, toasts, pin and reward claim updates...) queued for each
+ * player during a tick, and sends them at the end of the tick as one {@link BatchedMessagesMessage} per player, or
+ * on their own if only one was queued. Messages keep their order, relative to others queued for the same player.
+ * <p>
+ * Only use this for messages which don't need to be ordered with respect to messages sent directly. In particular,
+ * every message about an island's reward and progress state (claims, reward resets, reward blocking, locking and
+ * progress deltas) goes through here, since e.g. claiming a repeatable quest's last reward resets it in the same tick,
+ * and the client must see the claim before the reset.
+ * <p>
+ * Messages for a player who doesn't have their island data yet are dropped, since it's sent to them in full when they
+ * do (see {@link QuestBookTransfers}), and the values in these messages are absolute, so replaying older ones after it
+ * would undo newer state.
+ */
+public class MessageBatcher {
+	private static final Map<UUID, List<BaseS2CMessage>> QUEUES = new LinkedHashMap<>();
+
+	public static void queue(ServerPlayer player, BaseS2CMessage message) {
+		QUEUES.computeIfAbsent(player.getUUID(), k -> new ArrayList<>()).add(message);
+	}
+
+	public static void queue(Iterable<ServerPlayer> players, BaseS2CMessage message) {
+		for (ServerPlayer player : players) {
+			queue(player, message);
+		}
+	}
+
+	public static void remove(UUID playerId) {
+		QUEUES.remove(playerId);
+	}
+
+	public static void flush(MinecraftServer server) {
+		if (QUEUES.isEmpty()) {
+			return;
+		}
+
+		// messages queued for several players are only encoded once
+		Map<BaseS2CMessage, BatchedMessagesMessage.Entry> encoded = new IdentityHashMap<>();
+
+		for (Map.Entry<UUID, List<BaseS2CMessage>> entry : QUEUES.entrySet()) {
+			ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+			List<BaseS2CMessage> messages = entry.getValue();
+
+			if (player == null || !QuestBookTransfers.isSynced(player)) {
+				continue;
+			}
+
+			if (messages.size() == 1) {
+				messages.get(0).sendTo(player);
+			} else {
+				List<BatchedMessagesMessage.Entry> entries = new ArrayList<>(messages.size());
+				for (BaseS2CMessage message : messages) {
+					entries.add(encoded.computeIfAbsent(message, BatchedMessagesMessage::encode));
+				}
+				new BatchedMessagesMessage(entries).sendTo(player);
+			}
+		}
+
+		QUEUES.clear();
+	}
+}
@@ -6,6 +6,7 @@ import dev.architectury.networking.simple.MessageType;
 import dev.ftb.mods.ftbquests.quest.Chapter;
 import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
 import dev.ftb.mods.ftbquests.util.NetUtils;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
 import net.minecraft.network.FriendlyByteBuf;
 
 public class MoveChapterMessage extends BaseC2SMessage {
@@ -40,7 +41,7 @@ public class MoveChapterMessage extends BaseC2SMessage {
 
 			if (chapter != null && chapter.getGroup().moveChapterWithinGroup(chapter, movingUp)) {
 				chapter.file.clearCachedData();
-				new MoveChapterResponseMessage(id, movingUp).sendToAll(ServerQuestFile.INSTANCE.server);
+				QuestBookTransfers.sendBookChange(ServerQuestFile.INSTANCE.server, new MoveChapterResponseMessage(id, movingUp));
 				chapter.file.markDirty();
 			}
 		}
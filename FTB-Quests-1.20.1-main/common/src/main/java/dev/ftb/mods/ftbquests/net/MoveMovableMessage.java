@@ -3,30 +3,40 @@ package dev.ftb.mods.ftbquests.net;
 import dev.architectury.networking.NetworkManager;
 import dev.architectury.networking.simple.BaseC2SMessage;
 import dev.architectury.networking.simple.MessageType;
+import dev.ftb.mods.ftbquests.client.ClientQuestFile;
 import dev.ftb.mods.ftbquests.quest.Movable;
 import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
+import dev.ftb.mods.ftbquests.util.NetUtils;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
+ * Moves one or more quests/quest links, as one transaction; see {@link dev.ftb.mods.ftbquests.quest.QuestEditSession}.
+ *
  * @author LatvianModder
  */
 public class MoveMovableMessage extends BaseC2SMessage {
-	private final long id;
-	private final long chapterID;
-	private final double x, y;
+	private final List<Move> moves;
 
 	MoveMovableMessage(FriendlyByteBuf buffer) {
-		id = buffer.readLong();
-		chapterID = buffer.readLong();
-		x = buffer.readDouble();
-		y = buffer.readDouble();
+		// decoded before the sender's permissions are checked, so the count can't be trusted to size anything;
+		// each move is at least two longs, two doubles and a one byte varint
+		int n = Math.min(buffer.readVarInt(), buffer.readableBytes() / 33);
+		moves = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			moves.add(Move.read(buffer));
+		}
 	}
 
 	public MoveMovableMessage(Movable obj, long c, double _x, double _y) {
-		id = obj.getMovableID();
-		chapterID = c;
-		x = _x;
-		y = _y;
+		this(List.of(Move.of(obj, c, _x, _y)));
+	}
+
+	public MoveMovableMessage(List<Move> moves) {
+		this.moves = moves;
 	}
 
 	@Override
@@ -36,18 +46,43 @@ public class MoveMovableMessage extends BaseC2SMessage {
 
 	@Override
 	public void write(FriendlyByteBuf buffer) {
-		buffer.writeLong(id);
-		buffer.writeLong(chapterID);
-		buffer.writeDouble(x);
-		buffer.writeDouble(y);
+		buffer.writeCollection(moves, (buf, move) -> move.write(buf));
 	}
 
 	@Override
 	public void handle(NetworkManager.PacketContext context) {
-		if (ServerQuestFile.INSTANCE.get(id) instanceof Movable movable) {
-			movable.onMoved(x, y, chapterID);
-			ServerQuestFile.INSTANCE.markDirty();
-			new MoveMovableResponseMessage(movable, chapterID, x, y).sendToAll(context.getPlayer().getServer());
+		if (NetUtils.canEdit(context) && context.getPlayer() instanceof ServerPlayer player && !moves.isEmpty()) {
+			ServerQuestFile.INSTANCE.getEditSession().move(player, moves);
+		}
+	}
+
+	/**
+	 * @param id the id of the object being moved
+	 * @param basedOn the object's version; when sent by the client, the version it was moved from, and when sent back
+	 *                by the server, its version after the move
+	 * @param chapterId the chapter it's moved to
+	 * @param x new X pos
+	 * @param y new Y pos
+	 */
+	public record Move(long id, int basedOn, long chapterId, double x, double y) {
+		public static Move of(Movable obj, long chapterId, double x, double y) {
+			return new Move(obj.getMovableID(), ClientQuestFile.INSTANCE.getObjectVersion(obj.getMovableID()), chapterId, x, y);
+		}
+
+		static Move read(FriendlyByteBuf buffer) {
+			return new Move(buffer.readLong(), buffer.readVarInt(), buffer.readLong(), buffer.readDouble(), buffer.readDouble());
+		}
+
+		void write(FriendlyByteBuf buffer) {
+			buffer.writeLong(id);
+			buffer.writeVarInt(basedOn);
+			buffer.writeLong(chapterId);
+			buffer.writeDouble(x);
+			buffer.writeDouble(y);
+		}
+
+		public Move withVersion(int version) {
+			return new Move(id, version, chapterId, x, y);
 		}
 	}
-}
\ No newline at end of file
+}
@@ -4,29 +4,23 @@ import dev.architectury.networking.NetworkManager;
 import dev.architectury.networking.simple.BaseS2CMessage;
 import dev.architectury.networking.simple.MessageType;
 import dev.ftb.mods.ftbquests.client.FTBQuestsNetClient;
-import dev.ftb.mods.ftbquests.quest.Movable;
 import net.minecraft.network.FriendlyByteBuf;
 
+import java.util.List;
+
 /**
  * @author LatvianModder
  */
 public class MoveMovableResponseMessage extends BaseS2CMessage {
-	private final long id;
-	private final long chapter;
-	private final double x, y;
+	// each move's version is the object's version after the move
+	private final List<MoveMovableMessage.Move> moves;
 
 	MoveMovableResponseMessage(FriendlyByteBuf buffer) {
-		id = buffer.readLong();
-		chapter = buffer.readLong();
-		x = buffer.readDouble();
-		y = buffer.readDouble();
+		moves = buffer.readList(MoveMovableMessage.Move::read);
 	}
 
-	public MoveMovableResponseMessage(Movable movable, long c, double _x, double _y) {
-		id = movable.getMovableID();
-		chapter = c;
-		x = _x;
-		y = _y;
+	public MoveMovableResponseMessage(List<MoveMovableMessage.Move> moves) {
+		this.moves = moves;
 	}
 
 	@Override
@@ -36,14 +30,11 @@ public class MoveMovableResponseMessage extends BaseS2CMessage {
 
 	@Override
 	public void write(FriendlyByteBuf buffer) {
-		buffer.writeLong(id);
-		buffer.writeLong(chapter);
-		buffer.writeDouble(x);
-		buffer.writeDouble(y);
+		buffer.writeCollection(moves, (buf, move) -> move.write(buf));
 	}
 
 	@Override
 	public void handle(NetworkManager.PacketContext context) {
-		FTBQuestsNetClient.moveQuest(id, chapter, x, y);
+		FTBQuestsNetClient.moveQuests(moves);
 	}
-}
\ No newline at end of file
+}
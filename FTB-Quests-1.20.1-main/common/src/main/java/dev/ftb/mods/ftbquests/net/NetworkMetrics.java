@@ -0,0 +1,160 @@
+package dev.ftb.mods.ftbquests.net;
+
+import dev.architectury.networking.NetworkManager;
+import dev.architectury.networking.simple.Message;
+import dev.architectury.networking.simple.MessageDecoder;
+import dev.ftb.mods.ftbquests.FTBQuests;
+import dev.ftb.mods.ftbquests.api.FTBQuestsAPI;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per message type counts, byte totals and encode/decode time histograms for the messages registered in
+ * {@link FTBQuestsNetHandler}. Decoding is measured by wrapping each message's decoder at registration, and encoding
+ * from a mixin on Architectury's {@link Message#toPacket()}. Messages sent to several players are only encoded (and so
+ * counted) once.
+ * <p>
+ * Each side only sees what it encodes and decodes itself: on a dedicated server that's sent S2C and received C2S
+ * messages. Shown by {@code /ftbquests metrics}, and optionally logged periodically.
+ */
+public class NetworkMetrics {
+	// time histogram buckets are powers of two in microseconds: <1us, 1us, 2-3us, 4-7us... with the last one open-ended
+	private static final int BUCKETS = 16;
+
+	private static final Map<String, TypeStats> STATS = new ConcurrentHashMap<>();
+	private static long startedAt = System.currentTimeMillis();
+
+	static <T extends Message> MessageDecoder<T> metered(String id, NetworkManager.Side side, MessageDecoder<T> decoder) {
+		return buf -> {
+			int bytes = buf.readableBytes();
+			long start = System.nanoTime();
+			T message = decoder.decode(buf);
+			get(id, side).decoded.record(bytes, System.nanoTime() - start);
+			return message;
+		};
+	}
+
+	public static void recordEncode(ResourceLocation id, NetworkManager.Side side, int bytes, long nanos) {
+		if (id.getNamespace().equals(FTBQuestsAPI.MOD_ID)) {
+			get(id.getPath(), side).encoded.record(bytes, nanos);
+		}
+	}
+
+	public static void reset() {
+		STATS.clear();
+		startedAt = System.currentTimeMillis();
+	}
+
+	/**
+	 * Summarise the recorded metrics, one line per message type and direction, busiest (by bytes) first.
+	 *
+	 * @param limit the maximum number of message types to include
+	 * @return the summary
+	 */
+	public static Report report(int limit) {
+		List<Map.Entry<String, TypeStats>> entries = new ArrayList<>(STATS.entrySet());
+		entries.sort(Comparator.comparingLong((Map.Entry<String, TypeStats> e) -> e.getValue().totalBytes()).reversed());
+
+		List<Report.Line> lines = new ArrayList<>();
+		long seconds = Math.max(1L, (System.currentTimeMillis() - startedAt) / 1000L);
+
+		for (Map.Entry<String, TypeStats> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+			TypeStats stats = entry.getValue();
+			if (stats.encoded.count.sum() > 0L) {
+				lines.add(new Report.Line(entry.getKey(), true, stats.encoded.describe(seconds)));
+			}
+			if (stats.decoded.count.sum() > 0L) {
+				lines.add(new Report.Line(entry.getKey(), false, stats.decoded.describe(seconds)));
+			}
+		}
+
+		return new Report(seconds, entries.size(), lines);
+	}
+
+	/**
+	 * Write the report to the log, if anything was recorded since the last time.
+	 */
+	public static void logReport() {
+		if (!STATS.isEmpty()) {
+			Report report = report(Integer.MAX_VALUE);
+			FTBQuests.LOGGER.info("FTB Quests network metrics over {}s ({} message types)", report.seconds(), report.typeCount());
+			for (Report.Line line : report.lines()) {
+				FTBQuests.LOGGER.info("  {} {}: {}", line.type(), line.encoded() ? "encoded" : "decoded", line.stats());
+			}
+			reset();
+		}
+	}
+
+	/**
+	 * @param seconds how long the metrics have been recorded for
+	 * @param typeCount the number of message types seen, including any left out of the lines
+	 * @param lines one line per message type and direction
+	 */
+	public record Report(long seconds, int typeCount, List<Line> lines) {
+		public record Line(String type, boolean encoded, String stats) {
+		}
+	}
+
+	private static TypeStats get(String id, NetworkManager.Side side) {
+		return STATS.computeIfAbsent(side.name().toLowerCase() + " " + id, k -> new TypeStats());
+	}
+
+	private static class TypeStats {
+		private final Counter encoded = new Counter();
+		private final Counter decoded = new Counter();
+
+		private long totalBytes() {
+			return encoded.bytes.sum() + decoded.bytes.sum();
+		}
+	}
+
+	private static class Counter {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder bytes = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+		private void record(int nBytes, long nTime) {
+			count.increment();
+			bytes.add(nBytes);
+			nanos.add(nTime);
+			long micros = nTime / 1000L;
+			histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+		}
+
+		/**
+		 * @return the upper bound (in microseconds) of the histogram bucket holding the given fraction of samples
+		 */
+		private long percentileMicros(double fraction) {
+			long total = 0L;
+			for (int i = 0; i < BUCKETS; i++) {
+				total += histogram.get(i);
+			}
+
+			long target = (long) Math.ceil(total * fraction);
+			long seen = 0L;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += histogram.get(i);
+				if (seen >= target) {
+					return 1L << i;
+				}
+			}
+			return 1L << (BUCKETS - 1);
+		}
+
+		private String describe(long seconds) {
+			long n = count.sum();
+			long b = bytes.sum();
+			return String.format("%d msgs, %d bytes (%d B/s, avg %d B), avg %.1fus, p50 <%dus, p99 <%dus",
+					n, b, b / seconds, b / Math.max(1L, n), nanos.sum() / 1000D / Math.max(1L, n),
+					percentileMicros(0.5D), percentileMicros(0.99D));
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package dev.ftb.mods.ftbquests.net;
+
+import dev.ftb.mods.ftbquests.quest.QuestObjectBase;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The change made to a quest object by an edit, as the top-level keys of its written data which were added or changed
+ * (with their new values) and those which were removed. Values are absolute, so applying a delta is idempotent.
+ */
+public record ObjectEditDelta(long id, CompoundTag changed, Set<String> removed) {
+	public static ObjectEditDelta between(long id, CompoundTag before, CompoundTag after) {
+		CompoundTag changed = new CompoundTag();
+		Set<String> removed = new LinkedHashSet<>();
+
+		for (String key : after.getAllKeys()) {
+			Tag value = after.get(key);
+			if (!Objects.equals(value, before.get(key))) {
+				changed.put(key, value);
+			}
+		}
+
+		for (String key : before.getAllKeys()) {
+			if (!after.contains(key)) {
+				removed.add(key);
+			}
+		}
+
+		return new ObjectEditDelta(id, changed, removed);
+	}
+
+	public static ObjectEditDelta read(FriendlyByteBuf buffer) {
+		long id = buffer.readLong();
+		CompoundTag changed = buffer.readNbt();
+		Set<String> removed = buffer.readCollection(LinkedHashSet::new, FriendlyByteBuf::readUtf);
+		return new ObjectEditDelta(id, changed == null ? new CompoundTag() : changed, removed);
+	}
+
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeLong(id);
+		buffer.writeNbt(changed);
+		buffer.writeCollection(removed, FriendlyByteBuf::writeUtf);
+	}
+
+	public boolean isEmpty() {
+		return changed.isEmpty() && removed.isEmpty();
+	}
+
+	public Set<String> changedKeys() {
+		Set<String> res = new HashSet<>(changed.getAllKeys());
+		res.addAll(removed);
+		return res;
+	}
+
+	/**
+	 * Build a delta carrying the current values of the given keys, or their removal where the object no longer has
+	 * them. Used to replay several coalesced edits without sending any value which has since been superseded.
+	 */
+	public static ObjectEditDelta ofKeys(long id, CompoundTag current, Set<String> keys) {
+		CompoundTag changed = new CompoundTag();
+		Set<String> removed = new LinkedHashSet<>();
+
+		for (String key : keys) {
+			Tag value = current.get(key);
+			if (value != null) {
+				changed.put(key, value);
+			} else {
+				removed.add(key);
+			}
+		}
+
+		return new ObjectEditDelta(id, changed, removed);
+	}
+
+	/**
+	 * Apply this delta to an object, by re-reading its current data with the changes applied.
+	 */
+	public void applyTo(QuestObjectBase object) {
+		CompoundTag nbt = new CompoundTag();
+		object.writeData(nbt);
+		removed.forEach(nbt::remove);
+		for (String key : changed.getAllKeys()) {
+			nbt.put(key, changed.get(key).copy());
+		}
+		object.readData(nbt);
+	}
+}
@@ -0,0 +1,53 @@
+package dev.ftb.mods.ftbquests.net;
+
+import dev.architectury.networking.NetworkManager;
+import dev.architectury.networking.simple.BaseC2SMessage;
+import dev.architectury.networking.simple.MessageType;
+import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Client's reply to {@link SyncQuestsHashMessage}. If the client loaded the announced book from its cache, the server
+ * only needs to send the player's island data; otherwise the full book is streamed first.
+ */
+public class RequestQuestsMessage extends BaseC2SMessage {
+	private final String loadedHash;
+
+	RequestQuestsMessage(FriendlyByteBuf buffer) {
+		loadedHash = buffer.readUtf(Short.MAX_VALUE);
+	}
+
+	/**
+	 * @param loadedHash hash of the book the client loaded from its cache, or an empty string if it needs a download
+	 */
+	public RequestQuestsMessage(String loadedHash) {
+		this.loadedHash = loadedHash;
+	}
+
+	@Override
+	public MessageType getType() {
+		return FTBQuestsNetHandler.REQUEST_QUESTS;
+	}
+
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeUtf(loadedHash, Short.MAX_VALUE);
+	}
+
+	@Override
+	public void handle(NetworkManager.PacketContext context) {
+		ServerQuestFile file = ServerQuestFile.INSTANCE;
+
+		if (file != null && context.getPlayer() instanceof ServerPlayer serverPlayer) {
+			if (file.getEncodedBook().hash().equals(loadedHash)) {
+				QuestBookTransfers.remove(serverPlayer.getUUID());
+				QuestBookTransfers.finishSync(serverPlayer);
+			} else {
+				// also covers the book changing again since the hash was announced; island data follows the book
+				QuestBookTransfers.start(serverPlayer, file.getBookFrames());
+			}
+		}
+	}
+}
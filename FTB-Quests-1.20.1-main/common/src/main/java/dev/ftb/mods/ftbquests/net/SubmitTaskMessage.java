@@ -9,6 +9,7 @@ import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
 import dev.ftb.mods.ftbquests.quest.task.Task;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
 
 /**
  * @author LatvianModder
@@ -38,7 +39,7 @@ public class SubmitTaskMessage extends BaseC2SMessage {
 	public void handle(NetworkManager.PacketContext context) {
 		ServerPlayer player = (ServerPlayer) context.getPlayer();
 		Task task = ServerQuestFile.INSTANCE.getTask(taskId);
-		if (task == null) {
+		if (task == null || task.isPushDriven()) {
 			return;
 		}
 
@@ -53,7 +54,7 @@ public class SubmitTaskMessage extends BaseC2SMessage {
 					java.util.UUID.fromString(com.skyblock.dynamic.SkyBlockMod.getOwnerUuid()).equals(data.getTeamId());
 
 			if (isMember && isCorrectIsland) {
-				ServerQuestFile.INSTANCE.withPlayerContext(player, () -> task.submitTask(data, player));
+				ServerQuestFile.INSTANCE.withDetectionContext(player, ItemStack.EMPTY, 0L, ctx -> task.submitTask(data, ctx));
 			}
 		}
 	}
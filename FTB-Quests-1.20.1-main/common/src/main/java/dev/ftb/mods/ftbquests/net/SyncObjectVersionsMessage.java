@@ -0,0 +1,49 @@
+package dev.ftb.mods.ftbquests.net;
+
+import dev.architectury.networking.NetworkManager;
+import dev.architectury.networking.simple.BaseS2CMessage;
+import dev.architectury.networking.simple.MessageType;
+import dev.ftb.mods.ftbquests.client.FTBQuestsNetClient;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * Sent after the quest book, with the versions of every object changed since the book was loaded on the server, so
+ * that the client's edits are checked against the right versions; see
+ * {@link dev.ftb.mods.ftbquests.quest.QuestEditSession}.
+ */
+public class SyncObjectVersionsMessage extends BaseS2CMessage {
+	private final Long2IntMap versions;
+
+	SyncObjectVersionsMessage(FriendlyByteBuf buffer) {
+		int n = buffer.readVarInt();
+		versions = new Long2IntOpenHashMap(n);
+		for (int i = 0; i < n; i++) {
+			versions.put(buffer.readLong(), buffer.readVarInt());
+		}
+	}
+
+	public SyncObjectVersionsMessage(Long2IntMap versions) {
+		this.versions = versions;
+	}
+
+	@Override
+	public MessageType getType() {
+		return FTBQuestsNetHandler.SYNC_OBJECT_VERSIONS;
+	}
+
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeVarInt(versions.size());
+		for (Long2IntMap.Entry entry : versions.long2IntEntrySet()) {
+			buffer.writeLong(entry.getLongKey());
+			buffer.writeVarInt(entry.getIntValue());
+		}
+	}
+
+	@Override
+	public void handle(NetworkManager.PacketContext context) {
+		FTBQuestsNetClient.syncObjectVersions(versions);
+	}
+}
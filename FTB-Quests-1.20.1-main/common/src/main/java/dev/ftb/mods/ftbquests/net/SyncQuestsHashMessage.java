@@ -0,0 +1,38 @@
+package dev.ftb.mods.ftbquests.net;
+
+import dev.architectury.networking.NetworkManager;
+import dev.architectury.networking.simple.BaseS2CMessage;
+import dev.architectury.networking.simple.MessageType;
+import dev.ftb.mods.ftbquests.client.FTBQuestsNetClient;
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * Tells the client the hash of the server's current quest book; the client answers with a {@link RequestQuestsMessage},
+ * asking for the full book only if it doesn't have that version cached.
+ */
+public class SyncQuestsHashMessage extends BaseS2CMessage {
+	private final String hash;
+
+	SyncQuestsHashMessage(FriendlyByteBuf buffer) {
+		hash = buffer.readUtf(Short.MAX_VALUE);
+	}
+
+	public SyncQuestsHashMessage(String hash) {
+		this.hash = hash;
+	}
+
+	@Override
+	public MessageType getType() {
+		return FTBQuestsNetHandler.SYNC_QUESTS_HASH;
+	}
+
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeUtf(hash, Short.MAX_VALUE);
+	}
+
+	@Override
+	public void handle(NetworkManager.PacketContext context) {
+		FTBQuestsNetClient.syncQuestsHash(hash);
+	}
+}
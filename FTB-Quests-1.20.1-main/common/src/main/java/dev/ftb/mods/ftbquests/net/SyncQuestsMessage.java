@@ -3,24 +3,37 @@ package dev.ftb.mods.ftbquests.net;
 import dev.architectury.networking.NetworkManager;
 import dev.architectury.networking.simple.BaseS2CMessage;
 import dev.architectury.networking.simple.MessageType;
-import dev.ftb.mods.ftbquests.client.ClientQuestFile;
-import dev.ftb.mods.ftbquests.client.FTBQuestsClient;
-import dev.ftb.mods.ftbquests.quest.BaseQuestFile;
+import dev.ftb.mods.ftbquests.client.FTBQuestsNetClient;
+import dev.ftb.mods.ftbquests.quest.QuestBookFrames;
 import net.minecraft.network.FriendlyByteBuf;
 
 /**
+ * One frame of a compressed quest book; see {@link QuestBookFrames} and
+ * {@link dev.ftb.mods.ftbquests.util.QuestBookTransfers}.
+ *
  * @author LatvianModder
  */
 public class SyncQuestsMessage extends BaseS2CMessage {
-	private final BaseQuestFile file;
+	private final String hash;
+	private final int uncompressedLength;
+	private final int frameIndex;
+	private final int frameCount;
+	private final byte[] frame;
 
 	SyncQuestsMessage(FriendlyByteBuf buffer) {
-		file = FTBQuestsClient.createClientQuestFile();
-		file.readNetDataFull(buffer);
+		hash = buffer.readUtf(Short.MAX_VALUE);
+		uncompressedLength = buffer.readVarInt();
+		frameIndex = buffer.readVarInt();
+		frameCount = buffer.readVarInt();
+		frame = buffer.readByteArray(QuestBookFrames.FRAME_SIZE);
 	}
 
-	public SyncQuestsMessage(BaseQuestFile f) {
-		file = f;
+	public SyncQuestsMessage(QuestBookFrames book, int frameIndex) {
+		hash = book.hash();
+		uncompressedLength = book.uncompressedLength();
+		this.frameIndex = frameIndex;
+		frameCount = book.frames().size();
+		frame = book.frames().get(frameIndex);
 	}
 
 	@Override
@@ -30,15 +43,15 @@ public class SyncQuestsMessage extends BaseS2CMessage {
 
 	@Override
 	public void write(FriendlyByteBuf buffer) {
-		file.writeNetDataFull(buffer);
+		buffer.writeUtf(hash, Short.MAX_VALUE);
+		buffer.writeVarInt(uncompressedLength);
+		buffer.writeVarInt(frameIndex);
+		buffer.writeVarInt(frameCount);
+		buffer.writeByteArray(frame);
 	}
 
 	@Override
 	public void handle(NetworkManager.PacketContext context) {
-		ClientQuestFile.syncFromServer(file);
-
-		ClientQuestFile.INSTANCE.updateLootCrates();
-
-		new RequestIslandDataMessage().sendToServer();
+		FTBQuestsNetClient.receiveQuestsFrame(hash, uncompressedLength, frameIndex, frameCount, frame);
 	}
-}
\ No newline at end of file
+}
@@ -32,6 +32,8 @@ public class ToggleEditingModeMessage extends BaseC2SMessage {
                 || player.getServer() != null && player.getServer().isSingleplayerOwner(player.getGameProfile()))
         {
             IslandData data = ServerQuestFile.INSTANCE.getOrCreateIslandData(player);
+            // editors get edits immediately, so make sure nothing held back for non-editors is missed
+            ServerQuestFile.INSTANCE.flushEditBroadcasts();
             data.setCanEdit(player, !data.getCanEdit(player));  // will send a response to the client, causing GUI refresh
         }
     }
@@ -38,6 +38,6 @@ public class TogglePinnedMessage extends BaseC2SMessage {
 		IslandData data = ServerQuestFile.INSTANCE.getOrCreateIslandData(player);
 		boolean newPinned = !data.isQuestPinned(player, id);
 		data.setQuestPinned(player, id, newPinned);
-		new TogglePinnedResponseMessage(id, newPinned).sendTo(player);
+		MessageBatcher.queue(player, new TogglePinnedResponseMessage(id, newPinned));
 	}
 }
\ No newline at end of file
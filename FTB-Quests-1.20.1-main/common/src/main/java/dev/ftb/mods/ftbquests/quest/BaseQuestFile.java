@@ -21,14 +21,15 @@ import dev.ftb.mods.ftbquests.quest.loot.RewardTable;
 import dev.ftb.mods.ftbquests.quest.reward.*;
 import dev.ftb.mods.ftbquests.quest.task.*;
 import dev.ftb.mods.ftbquests.quest.theme.property.ThemeProperties;
-import dev.ftb.mods.ftbquests.util.FileUtils;
 import dev.ftb.mods.ftbquests.util.NetUtils;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
 // import dev.ftb.mods.ftbteams.api.FTBTeamsAPI; // REMOVED
 // import dev.ftb.mods.ftbteams.api.Team; // REMOVED
 // import dev.ftb.mods.ftbteams.api.client.ClientTeamManager; // REMOVED
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.commands.CommandSourceStack;
@@ -62,6 +63,9 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 	protected final Map<UUID, IslandData> islandDataMap; // MODIFIED
 
 	private final Long2ObjectOpenHashMap<QuestObjectBase> questObjectMap;
+	// tag -> ids of the objects in questObjectMap with that tag, in the order they were added
+	private final Map<String, LongLinkedOpenHashSet> tagIndex;
+	private final Long2IntOpenHashMap objectVersions;
 
 	protected final Int2ObjectOpenHashMap<TaskType> taskTypeIds;
 	protected final Int2ObjectOpenHashMap<RewardType> rewardTypeIds;
@@ -102,6 +106,8 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 		islandDataMap = new HashMap<>(); // MODIFIED
 
 		questObjectMap = new Long2ObjectOpenHashMap<>();
+		tagIndex = new HashMap<>();
+		objectVersions = new Long2IntOpenHashMap();
 		taskTypeIds = new Int2ObjectOpenHashMap<>();
 		rewardTypeIds = new Int2ObjectOpenHashMap<>();
 
@@ -196,7 +202,7 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 	public void deleteChildren() {
 		forAllChapters(chapter -> {
 			chapter.deleteChildren();
-			chapter.invalid = true;
+			removeFromIDMap(chapter);
 		});
 
 		defaultChapterGroup.clearChapters();
@@ -205,7 +211,7 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 
 		for (RewardTable table : rewardTables) {
 			table.deleteChildren();
-			table.invalid = true;
+			removeFromIDMap(table);
 		}
 
 		rewardTables.clear();
@@ -223,27 +229,98 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 		return object == null || object.invalid ? null : object;
 	}
 
+	/**
+	 * Get the edit version of an object, which the server increases every time the object is edited, moved or
+	 * deleted. Objects which haven't been changed since the quest book was loaded are at version 0.
+	 */
+	public int getObjectVersion(long id) {
+		return objectVersions.get(id);
+	}
+
+	public void setObjectVersion(long id, int version) {
+		if (version == 0) {
+			objectVersions.remove(id);
+		} else {
+			objectVersions.put(id, version);
+		}
+	}
+
+	public Long2IntOpenHashMap getObjectVersions() {
+		return objectVersions;
+	}
+
 	@Nullable
 	public QuestObject get(long id) {
 		return getBase(id) instanceof QuestObject qo ? qo : null;
 	}
 
+	/**
+	 * Remove an object from the id map, as part of deleting it. This doesn't clear any cached data, since an object is
+	 * often deleted along with several others; the caller should do that once they've all been removed.
+	 */
 	@Nullable
 	public QuestObjectBase remove(long id) {
-		QuestObjectBase object = questObjectMap.remove(id);
+		QuestObjectBase object = questObjectMap.get(id);
 
 		if (object != null) {
+			removeFromIDMap(object);
 			if (object instanceof QuestObject qo) {
 				forAllQuests(quest -> quest.removeDependency(qo));
 			}
-			object.invalid = true;
-			refreshIDMap();
 			return object;
 		}
 
 		return null;
 	}
 
+	/**
+	 * Add a newly created object to the id map. Its parent must add the object to itself separately, which is done
+	 * by {@link QuestObjectBase#onCreated()}.
+	 */
+	public void addToIDMap(QuestObjectBase object) {
+		QuestObjectBase prev = questObjectMap.put(object.id, object);
+		if (prev != null && prev != object) {
+			unindexTags(prev.id, prev.getTags());
+		}
+		indexTags(object.id, object.getTags());
+	}
+
+	/**
+	 * Remove an object from the id map and mark it invalid, e.g. when its parent is being deleted.
+	 */
+	public void removeFromIDMap(QuestObjectBase object) {
+		if (questObjectMap.get(object.id) == object) {
+			questObjectMap.remove(object.id);
+			unindexTags(object.id, object.getTags());
+		}
+		object.invalid = true;
+	}
+
+	/**
+	 * Called when an object's tags are replaced, to keep the tag index up to date.
+	 */
+	void tagsChanged(QuestObjectBase object, Collection<String> oldTags) {
+		if (questObjectMap.get(object.id) == object) {
+			unindexTags(object.id, oldTags);
+			indexTags(object.id, object.getTags());
+		}
+	}
+
+	private void indexTags(long id, Collection<String> tags) {
+		for (String tag : tags) {
+			tagIndex.computeIfAbsent(tag, k -> new LongLinkedOpenHashSet()).add(id);
+		}
+	}
+
+	private void unindexTags(long id, Collection<String> tags) {
+		for (String tag : tags) {
+			LongLinkedOpenHashSet ids = tagIndex.get(tag);
+			if (ids != null && ids.remove(id) && ids.isEmpty()) {
+				tagIndex.remove(tag);
+			}
+		}
+	}
+
 	@Nullable
 	public Chapter getChapter(long id) {
 		QuestObjectBase object = getBase(id);
@@ -299,23 +376,28 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 		return object instanceof ChapterGroup ? (ChapterGroup) object : defaultChapterGroup;
 	}
 
+	/**
+	 * Rebuild the id map (and tag index) from scratch by walking the whole book. Only needed after the book's been
+	 * read; objects created and deleted afterwards are added and removed individually, see {@link #addToIDMap} and
+	 * {@link #remove(long)}.
+	 */
 	public void refreshIDMap() {
-		clearCachedData();
 		questObjectMap.clear();
+		tagIndex.clear();
 
-		chapterGroups.forEach(group -> questObjectMap.put(group.id, group));
-		rewardTables.forEach(table -> questObjectMap.put(table.id, table));
+		chapterGroups.forEach(this::addToIDMap);
+		rewardTables.forEach(this::addToIDMap);
 
 		forAllChapters(chapter -> {
-			questObjectMap.put(chapter.id, chapter);
+			addToIDMap(chapter);
 
 			for (Quest quest : chapter.getQuests()) {
-				questObjectMap.put(quest.id, quest);
-				quest.getTasks().forEach(task -> questObjectMap.put(task.id, task));
-				quest.getRewards().forEach(reward -> questObjectMap.put(reward.id, reward));
+				addToIDMap(quest);
+				quest.getTasks().forEach(this::addToIDMap);
+				quest.getRewards().forEach(this::addToIDMap);
 			}
 
-			chapter.getQuestLinks().forEach(link -> questObjectMap.put(link.id, link));
+			chapter.getQuestLinks().forEach(this::addToIDMap);
 		});
 
 		clearCachedData();
@@ -456,84 +538,114 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 		try {
 			prev = SNBT.setShouldSortKeysOnWrite(true);
 
-			SNBTCompoundTag fileNBT = new SNBTCompoundTag();
-			fileNBT.putInt("version", VERSION);
-			writeData(fileNBT);
-			SNBT.write(folder.resolve("data.snbt"), fileNBT);
+			SNBT.write(folder.resolve("data.snbt"), writeFileNBT());
 
 			for (ChapterGroup group : chapterGroups) {
 				for (int ci = 0; ci < group.getChapters().size(); ci++) {
 					Chapter chapter = group.getChapters().get(ci);
-					SNBTCompoundTag chapterNBT = new SNBTCompoundTag();
-					chapterNBT.putString("id", chapter.getCodeString());
-					chapterNBT.putString("group", group.isDefaultGroup() ? "" : group.getCodeString());
-					chapterNBT.putInt("order_index", ci);
-					chapter.writeData(chapterNBT);
-
-					ListTag questList = new ListTag();
-					for (Quest quest : chapter.getQuests()) {
-						if (quest.isValid()) {
-							SNBTCompoundTag questNBT = new SNBTCompoundTag();
-							quest.writeData(questNBT);
-							questNBT.putString("id", quest.getCodeString());
-							if (!quest.getTasks().isEmpty()) {
-								quest.writeTasks(questNBT);
-							}
-							if (!quest.getRewards().isEmpty()) {
-								quest.writeRewards(questNBT);
-							}
-							questList.add(questNBT);
-						}
-					}
-					chapterNBT.put("quests", questList);
-
-					ListTag linkList = new ListTag();
-					for (QuestLink link : chapter.getQuestLinks()) {
-						if (link.getQuest().isPresent()) {
-							SNBTCompoundTag linkNBT = new SNBTCompoundTag();
-							link.writeData(linkNBT);
-							linkNBT.putString("id", link.getCodeString());
-							linkList.add(linkNBT);
-						}
-					}
-					chapterNBT.put("quest_links", linkList);
-
-					SNBT.write(folder.resolve("chapters/" + chapter.getFilename() + ".snbt"), chapterNBT);
+					SNBT.write(folder.resolve(chapter.getPath().orElseThrow()), writeChapterNBT(chapter, ci));
 				}
 			}
 
 			for (int ri = 0; ri < rewardTables.size(); ri++) {
 				RewardTable table = rewardTables.get(ri);
-				SNBTCompoundTag tableNBT = new SNBTCompoundTag();
-				tableNBT.putString("id", table.getCodeString());
-				tableNBT.putInt("order_index", ri);
-				table.writeData(tableNBT);
-				SNBT.write(folder.resolve("reward_tables/" + table.getFilename() + ".snbt"), tableNBT);
+				SNBT.write(folder.resolve(table.getPath().orElseThrow()), writeRewardTableNBT(table, ri));
 			}
 
-			ListTag chapterGroupTag = new ListTag();
+			SNBT.write(folder.resolve("chapter_groups.snbt"), writeChapterGroupsNBT());
+		} finally {
+			SNBT.setShouldSortKeysOnWrite(prev);
+		}
+	}
 
-			for (ChapterGroup group : chapterGroups) {
-				if (!group.isDefaultGroup()) {
-					SNBTCompoundTag groupTag = new SNBTCompoundTag();
-					groupTag.singleLine();
-					groupTag.putString("id", group.getCodeString());
-					group.writeData(groupTag);
-					chapterGroupTag.add(groupTag);
+	/**
+	 * @return the contents of {@code data.snbt}
+	 */
+	protected final SNBTCompoundTag writeFileNBT() {
+		SNBTCompoundTag fileNBT = new SNBTCompoundTag();
+		fileNBT.putInt("version", VERSION);
+		writeData(fileNBT);
+		return fileNBT;
+	}
+
+	/**
+	 * @return the contents of a chapter's file, including all its quests and quest links
+	 */
+	protected final SNBTCompoundTag writeChapterNBT(Chapter chapter, int orderIndex) {
+		ChapterGroup group = chapter.getGroup();
+		SNBTCompoundTag chapterNBT = new SNBTCompoundTag();
+		chapterNBT.putString("id", chapter.getCodeString());
+		chapterNBT.putString("group", group.isDefaultGroup() ? "" : group.getCodeString());
+		chapterNBT.putInt("order_index", orderIndex);
+		chapter.writeData(chapterNBT);
+
+		ListTag questList = new ListTag();
+		for (Quest quest : chapter.getQuests()) {
+			if (quest.isValid()) {
+				SNBTCompoundTag questNBT = new SNBTCompoundTag();
+				quest.writeData(questNBT);
+				questNBT.putString("id", quest.getCodeString());
+				if (!quest.getTasks().isEmpty()) {
+					quest.writeTasks(questNBT);
 				}
+				if (!quest.getRewards().isEmpty()) {
+					quest.writeRewards(questNBT);
+				}
+				questList.add(questNBT);
+			}
+		}
+		chapterNBT.put("quests", questList);
+
+		ListTag linkList = new ListTag();
+		for (QuestLink link : chapter.getQuestLinks()) {
+			if (link.getQuest().isPresent()) {
+				SNBTCompoundTag linkNBT = new SNBTCompoundTag();
+				link.writeData(linkNBT);
+				linkNBT.putString("id", link.getCodeString());
+				linkList.add(linkNBT);
 			}
+		}
+		chapterNBT.put("quest_links", linkList);
 
-			SNBTCompoundTag groupNBT = new SNBTCompoundTag();
-			groupNBT.put("chapter_groups", chapterGroupTag);
-			SNBT.write(folder.resolve("chapter_groups.snbt"), groupNBT);
-		} finally {
-			SNBT.setShouldSortKeysOnWrite(prev);
+		return chapterNBT;
+	}
+
+	/**
+	 * @return the contents of a reward table's file
+	 */
+	protected final SNBTCompoundTag writeRewardTableNBT(RewardTable table, int orderIndex) {
+		SNBTCompoundTag tableNBT = new SNBTCompoundTag();
+		tableNBT.putString("id", table.getCodeString());
+		tableNBT.putInt("order_index", orderIndex);
+		table.writeData(tableNBT);
+		return tableNBT;
+	}
+
+	/**
+	 * @return the contents of {@code chapter_groups.snbt}
+	 */
+	protected final SNBTCompoundTag writeChapterGroupsNBT() {
+		ListTag chapterGroupTag = new ListTag();
+
+		for (ChapterGroup group : chapterGroups) {
+			if (!group.isDefaultGroup()) {
+				SNBTCompoundTag groupTag = new SNBTCompoundTag();
+				groupTag.singleLine();
+				groupTag.putString("id", group.getCodeString());
+				group.writeData(groupTag);
+				chapterGroupTag.add(groupTag);
+			}
 		}
+
+		SNBTCompoundTag groupNBT = new SNBTCompoundTag();
+		groupNBT.put("chapter_groups", chapterGroupTag);
+		return groupNBT;
 	}
 
 	public final void readDataFull(Path folder) {
 		clearCachedData();
 		questObjectMap.clear();
+		tagIndex.clear();
 		defaultChapterGroup.clearChapters();
 		chapterGroups.clear();
 		chapterGroups.add(defaultChapterGroup);
@@ -547,7 +659,7 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 
 		if (fileNBT != null) {
 			fileVersion = fileNBT.getInt("version");
-			questObjectMap.put(1, this);
+			addToIDMap(this);
 			readData(fileNBT);
 		}
 
@@ -562,7 +674,7 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 				for (int i = 0; i < groupListTag.size(); i++) {
 					CompoundTag groupNBT = groupListTag.getCompound(i);
 					ChapterGroup chapterGroup = new ChapterGroup(readID(groupNBT.get("id")), this);
-					questObjectMap.put(chapterGroup.id, chapterGroup);
+					addToIDMap(chapterGroup);
 					dataCache.put(chapterGroup.id, groupNBT);
 					chapterGroups.add(chapterGroup);
 				}
@@ -585,7 +697,7 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 								path.getFileName().toString().replace(".snbt", "")
 						);
 						objectOrderMap.put(chapter.id, chapterNBT.getInt("order_index"));
-						questObjectMap.put(chapter.id, chapter);
+						addToIDMap(chapter);
 						dataCache.put(chapter.id, chapterNBT);
 						chapter.getGroup().addChapter(chapter);
 
@@ -594,7 +706,7 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 						for (int i = 0; i < questList.size(); i++) {
 							CompoundTag questNBT = questList.getCompound(i);
 							Quest quest = new Quest(readID(questNBT.get("id")), chapter);
-							questObjectMap.put(quest.id, quest);
+							addToIDMap(quest);
 							dataCache.put(quest.id, questNBT);
 							chapter.addQuest(quest);
 
@@ -609,7 +721,7 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 									task.rawTitle = "Unknown type: " + taskNBT.getString("type");
 								}
 
-								questObjectMap.put(task.id, task);
+								addToIDMap(task);
 								dataCache.put(task.id, taskNBT);
 								quest.addTask(task);
 							}
@@ -625,7 +737,7 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 									reward.rawTitle = "Unknown type: " + rewardNBT.getString("type");
 								}
 
-								questObjectMap.put(reward.id, reward);
+								addToIDMap(reward);
 								dataCache.put(reward.id, rewardNBT);
 								quest.addReward(reward);
 							}
@@ -638,7 +750,7 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 							CompoundTag linkNBT = questLinks.getCompound(i);
 							QuestLink link = new QuestLink(readID(linkNBT.get("id")), chapter, readID(linkNBT.get("linked_quest")));
 							chapter.addQuestLink(link);
-							questObjectMap.put(link.id, link);
+							addToIDMap(link);
 							dataCache.put(link.id, linkNBT);
 						}
 
@@ -661,7 +773,7 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 						String filename = path.getFileName().toString().replace(".snbt", "");
 						RewardTable table = new RewardTable(readID(tableNBT.get("id")), this, filename);
 						objectOrderMap.put(table.id, tableNBT.getInt("order_index"));
-						questObjectMap.put(table.id, table);
+						addToIDMap(table);
 						dataCache.put(table.id, tableNBT);
 						rewardTables.add(table);
 					}
@@ -727,6 +839,14 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 	public void markDirty() {
 	}
 
+	/**
+	 * Mark the file as needing saving because of a change to the given object; only the parts of the saved quest
+	 * book holding that object need to be written out again.
+	 */
+	public void markDirty(QuestObjectBase object) {
+		markDirty();
+	}
+
 	@Override
 	public final void writeNetData(FriendlyByteBuf buffer) {
 		super.writeNetData(buffer);
@@ -1054,9 +1174,7 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 	public void clearCachedData() {
 		super.clearCachedData();
 
-		allTasks = null;
-		submitTasks = null;
-		craftingTasks = null;
+		clearCachedTaskLists();
 
 		for (ChapterGroup group : chapterGroups) {
 			group.clearCachedData();
@@ -1067,6 +1185,15 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 		ClearFileCacheEvent.EVENT.invoker().accept(this);
 	}
 
+	/**
+	 * Clear the cached lists of tasks, which is needed (without clearing everything) when a task has been edited.
+	 */
+	public void clearCachedTaskLists() {
+		allTasks = null;
+		submitTasks = null;
+		craftingTasks = null;
+	}
+
 	public void clearCachedProgress() {
 		getAllIslandData().forEach(IslandData::clearCachedProgress);
 	}
@@ -1113,12 +1240,8 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 		String idStr = obj.toString();
 		long id = parseCodeString(idStr);
 		if (id == 0L && idStr.length() >= 2 && idStr.charAt(0) == '#') {
-			String tagVal = idStr.substring(1);
-			return questObjectMap.values().stream()
-					.filter(qob -> qob.hasTag(tagVal))
-					.findFirst()
-					.map(qob -> qob.id)
-					.orElse(id);
+			LongLinkedOpenHashSet ids = tagIndex.get(idStr.substring(1));
+			return ids == null || ids.isEmpty() ? id : ids.firstLong();
 		}
 
 		return id;
@@ -1359,14 +1482,14 @@ public abstract class BaseQuestFile extends QuestObject implements QuestFile {
 		for (RewardTable table : rewardTables) {
 			if (table.getWeightedRewards().isEmpty()) {
 				del.increment();
-				table.invalid = true;
-				FileUtils.delete(ServerQuestFile.INSTANCE.getFolder().resolve(table.getPath().orElseThrow()).toFile());
-				new DeleteObjectResponseMessage(table.id).sendToAll(source.getServer());
+				removeFromIDMap(table);
+				ServerQuestFile.INSTANCE.deleteFile(table.getPath().orElseThrow());
+				QuestBookTransfers.sendBookChange(source.getServer(), new DeleteObjectResponseMessage(table.id));
 			}
 		}
 
 		if (rewardTables.removeIf(rewardTable -> rewardTable.invalid)) {
-			refreshIDMap();
+			clearCachedData();
 			markDirty();
 		}
 
@@ -386,7 +386,11 @@ public final class Chapter extends QuestObject {
 	public void deleteChildren() {
 		for (Quest quest : quests) {
 			quest.deleteChildren();
-			quest.invalid = true;
+			file.removeFromIDMap(quest);
+		}
+
+		for (QuestLink link : questLinks) {
+			file.removeFromIDMap(link);
 		}
 
 		quests.clear();
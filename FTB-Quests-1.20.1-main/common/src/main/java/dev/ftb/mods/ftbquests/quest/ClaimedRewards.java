@@ -0,0 +1,135 @@
+package dev.ftb.mods.ftbquests.quest;
+
+import dev.ftb.mods.ftbquests.quest.reward.Reward;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.Util;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Reward claim timestamps for an island, keyed by reward ID in a primitive map per player. Team rewards share a
+ * single map (stored under {@link Util#NIL_UUID}), so lookups don't need to allocate a composite key object.
+ */
+final class ClaimedRewards {
+	private final Long2LongMap teamClaims;
+	private final Object2ObjectMap<UUID, Long2LongMap> claimsByPlayer;
+
+	ClaimedRewards() {
+		teamClaims = newClaimMap();
+		claimsByPlayer = new Object2ObjectOpenHashMap<>();
+		claimsByPlayer.put(Util.NIL_UUID, teamClaims);
+	}
+
+	private static Long2LongMap newClaimMap() {
+		Long2LongMap map = new Long2LongOpenHashMap();
+		map.defaultReturnValue(0L);
+		return map;
+	}
+
+	private Long2LongMap claimsFor(UUID player, Reward reward) {
+		return reward.isTeamReward() ? teamClaims : claimsByPlayer.get(player);
+	}
+
+	/**
+	 * @return the claim time, or 0 if the player (or team, for team rewards) hasn't claimed the reward
+	 */
+	long getClaimTime(UUID player, Reward reward) {
+		Long2LongMap claims = claimsFor(player, reward);
+		return claims == null ? 0L : claims.get(reward.id);
+	}
+
+	boolean claim(UUID player, Reward reward, long date) {
+		UUID key = reward.isTeamReward() ? Util.NIL_UUID : player;
+		Long2LongMap claims = claimsByPlayer.computeIfAbsent(key, k -> newClaimMap());
+		if (!claims.containsKey(reward.id)) {
+			claims.put(reward.id, date);
+			return true;
+		}
+		return false;
+	}
+
+	boolean reset(UUID player, Reward reward) {
+		Long2LongMap claims = claimsFor(player, reward);
+		return claims != null && claims.remove(reward.id) != 0L;
+	}
+
+	/**
+	 * Remove all claims (team and per-player) for the given reward ID.
+	 */
+	boolean removeAll(long rewardId) {
+		boolean removed = false;
+		for (Long2LongMap claims : claimsByPlayer.values()) {
+			if (claims.remove(rewardId) != 0L) {
+				removed = true;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Raw insertion, used when loading; a player ID of {@link Util#NIL_UUID} denotes a team claim.
+	 */
+	void put(UUID player, long rewardId, long date) {
+		claimsByPlayer.computeIfAbsent(player, k -> newClaimMap()).put(rewardId, date);
+	}
+
+	void putAll(ClaimedRewards other) {
+		other.claimsByPlayer.forEach((player, claims) -> {
+			if (!claims.isEmpty()) {
+				claimsByPlayer.computeIfAbsent(player, k -> newClaimMap()).putAll(claims);
+			}
+		});
+	}
+
+	void clear() {
+		claimsByPlayer.clear();
+		teamClaims.clear();
+		claimsByPlayer.put(Util.NIL_UUID, teamClaims);
+	}
+
+	int size() {
+		int size = 0;
+		for (Long2LongMap claims : claimsByPlayer.values()) {
+			size += claims.size();
+		}
+		return size;
+	}
+
+	void forEach(ClaimConsumer consumer) {
+		claimsByPlayer.forEach((player, claims) -> {
+			for (Long2LongMap.Entry entry : claims.long2LongEntrySet()) {
+				consumer.accept(player, entry.getLongKey(), entry.getLongValue());
+			}
+		});
+	}
+
+	int playerCount() {
+		int count = 0;
+		for (Long2LongMap claims : claimsByPlayer.values()) {
+			if (!claims.isEmpty()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Iterate over each player's (non-empty) claim map; team claims are passed with {@link Util#NIL_UUID}.
+	 */
+	void forEachPlayer(BiConsumer<UUID, Long2LongMap> consumer) {
+		claimsByPlayer.forEach((player, claims) -> {
+			if (!claims.isEmpty()) {
+				consumer.accept(player, claims);
+			}
+		});
+	}
+
+	@FunctionalInterface
+	interface ClaimConsumer {
+		void accept(UUID player, long rewardId, long date);
+	}
+}
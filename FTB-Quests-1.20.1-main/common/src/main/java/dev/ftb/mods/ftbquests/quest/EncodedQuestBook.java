@@ -0,0 +1,39 @@
+package dev.ftb.mods.ftbquests.quest;
+
+import com.google.common.hash.Hashing;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * The network encoding of a whole quest file (as written by {@link BaseQuestFile#writeNetDataFull}), along with a hash
+ * of that encoding. The server builds this once per edit or reload rather than once per player; clients use the hash
+ * to tell whether a copy they cached earlier is still current.
+ *
+ * @param hash lower-case hex SHA-256 of {@code data}
+ * @param data the encoded quest file
+ */
+public record EncodedQuestBook(String hash, byte[] data) {
+	public static EncodedQuestBook encode(BaseQuestFile file) {
+		FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+
+		try {
+			file.writeNetDataFull(buffer);
+			byte[] data = new byte[buffer.readableBytes()];
+			buffer.readBytes(data);
+			return new EncodedQuestBook(hash(data), data);
+		} finally {
+			buffer.release();
+		}
+	}
+
+	public static String hash(byte[] data) {
+		return Hashing.sha256().hashBytes(data).toString();
+	}
+
+	/**
+	 * Decode this book into the given (empty) quest file.
+	 */
+	public void decodeInto(BaseQuestFile file) {
+		file.readNetDataFull(new FriendlyByteBuf(Unpooled.wrappedBuffer(data)));
+	}
+}
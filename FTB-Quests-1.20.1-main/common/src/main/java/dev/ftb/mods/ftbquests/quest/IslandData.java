@@ -7,18 +7,24 @@ import dev.ftb.mods.ftblibrary.snbt.SNBT;
 import dev.ftb.mods.ftblibrary.snbt.SNBTCompoundTag;
 import dev.ftb.mods.ftbquests.FTBQuests;
 import dev.ftb.mods.ftbquests.api.FTBQuestsAPI;
+import dev.ftb.mods.ftbquests.config.FTBQuestsTeamConfig;
 import dev.ftb.mods.ftbquests.events.QuestProgressEventData;
 import dev.ftb.mods.ftbquests.net.*;
 import dev.ftb.mods.ftbquests.quest.reward.Reward;
 import dev.ftb.mods.ftbquests.quest.reward.RewardAutoClaim;
+import dev.ftb.mods.ftbquests.quest.reward.RewardClaimBatch;
 import dev.ftb.mods.ftbquests.quest.reward.RewardClaimType;
 import dev.ftb.mods.ftbquests.quest.task.ItemTask;
 import dev.ftb.mods.ftbquests.quest.task.Task;
 import dev.ftb.mods.ftbquests.quest.team.TeamManager;
 import dev.ftb.mods.ftbquests.util.FTBQuestsInventoryListener;
+import dev.ftb.mods.ftbquests.util.QuestFileWriter;
 import dev.ftb.mods.ftbquests.util.QuestKey;
 // import dev.ftb.mods.ftbteams.api.FTBTeamsAPI; // REMOVED
 // import dev.ftb.mods.ftbteams.api.Team; // REMOVED
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.*;
 import it.unimi.dsi.fastutil.objects.*;
 import net.minecraft.nbt.CompoundTag;
@@ -30,8 +36,11 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import org.apache.commons.lang3.function.ToBooleanBiFunction;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -47,12 +56,15 @@ public class IslandData { // RENAMED CLASS
 	public static final int VERSION = 1;
 	public static final int AUTO_PIN_ID = 1;
 
+	public static final String SNBT_EXTENSION = ".snbt";
+	public static final String BINARY_EXTENSION = ".ftbqd";
+	private static final int BINARY_MAGIC = 0x46545144; // "FTQD"
+
 	private static final byte BOOL_UNKNOWN = -1;
 	private static final byte BOOL_FALSE = 0;
 	private static final byte BOOL_TRUE = 1;
 
 	private static final Comparator<Long2LongMap.Entry> LONG2LONG_COMPARATOR = (e1, e2) -> Long.compareUnsigned(e1.getLongValue(), e2.getLongValue());
-	private static final Comparator<Object2LongMap.Entry<QuestKey>> OBJECT2LONG_COMPARATOR = (e1, e2) -> Long.compareUnsigned(e1.getLongValue(), e2.getLongValue());
 
 	private final UUID islandId; // RENAMED FIELD
 	private final BaseQuestFile file;
@@ -63,16 +75,22 @@ public class IslandData { // RENAMED CLASS
 	private boolean rewardsBlocked;
 
 	private final Long2LongMap taskProgress;
-	private final Object2LongMap<QuestKey> claimedRewards;
+	private final ClaimedRewards claimedRewards;
 	private final Long2LongMap started;
 	private final Long2LongMap completed;
 	private final Object2ObjectMap<UUID,PerPlayerData> perPlayerData;
 
 	private final Long2ByteMap areDependenciesCompleteCache;
 	private final Long2ByteMap areDependenciesVisibleCache;
-	private final Object2ByteMap<QuestKey> unclaimedRewardsCache;
+	private final Object2ObjectMap<UUID, Long2ByteMap> unclaimedRewardsCache;
 	private final Long2BooleanMap exclusionCache;
+	private final Int2ObjectMap<List<Task>> autoSubmitCandidatesCache;
 	private final Set<UUID> members;
+	private final Map<UUID, ServerPlayer> onlineMembers;
+	private boolean onlineMembersValid;
+	@Nullable
+	private List<ServerPlayer> onlineMembersSnapshot;
+	private final PendingProgressDelta pendingDelta;
 
 	public IslandData(UUID islandId, BaseQuestFile file) { // MODIFIED CONSTRUCTOR
 		this(islandId, file, "");
@@ -87,8 +105,7 @@ public class IslandData { // RENAMED CLASS
 
 		taskProgress = new Long2LongOpenHashMap();
 		taskProgress.defaultReturnValue(0L);
-		claimedRewards = new Object2LongOpenHashMap<>();
-		claimedRewards.defaultReturnValue(0L);
+		claimedRewards = new ClaimedRewards();
 		started = new Long2LongOpenHashMap();
 		started.defaultReturnValue(0L);
 		completed = new Long2LongOpenHashMap();
@@ -96,9 +113,14 @@ public class IslandData { // RENAMED CLASS
 		perPlayerData = new Object2ObjectOpenHashMap<>();
 		areDependenciesCompleteCache = new Long2ByteOpenHashMap();
 		areDependenciesVisibleCache = new Long2ByteOpenHashMap();
-		unclaimedRewardsCache = new Object2ByteOpenHashMap<>();
+		unclaimedRewardsCache = new Object2ObjectOpenHashMap<>();
 		exclusionCache = new Long2BooleanOpenHashMap();
+		autoSubmitCandidatesCache = new Int2ObjectOpenHashMap<>();
 		members = new HashSet<>();
+		onlineMembers = new LinkedHashMap<>();
+		onlineMembersValid = false;
+		onlineMembersSnapshot = null;
+		pendingDelta = new PendingProgressDelta();
 	}
 
 	public UUID getTeamId() { // This will need to be renamed to getIslandId later, but for now, keep it to minimize changes in other files
@@ -131,11 +153,80 @@ public class IslandData { // RENAMED CLASS
 	public void saveIfChanged() {
 		if (shouldSave && file instanceof ServerQuestFile sqf) {
 			Path path = sqf.server.getWorldPath(ServerQuestFile.FTBQUESTS_DATA);
-			SNBT.write(path.resolve(islandId + ".snbt"), serializeNBT()); // MODIFIED
+			Path snbtPath = path.resolve(islandId + SNBT_EXTENSION);
+			Path binaryPath = path.resolve(islandId + BINARY_EXTENSION);
+
+			if (FTBQuestsTeamConfig.BINARY_ISLAND_DATA.get()) {
+				if (writeBinaryFile(binaryPath)) {
+					deleteQuietly(snbtPath);
+				}
+			} else {
+				SNBT.write(snbtPath, serializeNBT()); // MODIFIED
+				deleteQuietly(binaryPath);
+			}
+
 			shouldSave = false;
 		}
 	}
 
+	private boolean writeBinaryFile(Path path) {
+		FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+
+		try {
+			writeBinary(buffer);
+			byte[] bytes = new byte[buffer.readableBytes()];
+			buffer.readBytes(bytes);
+			QuestFileWriter.writeAtomically(path, bytes);
+			return true;
+		} catch (IOException ex) {
+			FTBQuests.LOGGER.error("failed to write binary progress data for island {}: {}", islandId, ex.getMessage());
+			return false;
+		} finally {
+			buffer.release();
+		}
+	}
+
+	/**
+	 * Load island data previously saved with {@link #writeBinary(FriendlyByteBuf)}.
+	 *
+	 * @param file the quest file which will own the data
+	 * @param path path to the binary data file
+	 * @return the loaded data
+	 * @throws IOException if the file can't be read, is not a valid binary island data file, or holds the data of a
+	 * different island than the one its name is for
+	 */
+	public static IslandData readBinaryFile(BaseQuestFile file, Path path) throws IOException {
+		FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.wrappedBuffer(Files.readAllBytes(path)));
+
+		if (buffer.readableBytes() < 4 || buffer.readInt() != BINARY_MAGIC) {
+			throw new IOException("not a binary island data file: " + path);
+		}
+
+		int fileVersion = buffer.readVarInt();
+		UUID islandId = buffer.readUUID();
+
+		if (!path.getFileName().toString().equals(islandId + BINARY_EXTENSION)) {
+			throw new IOException("island data file " + path + " holds the data of island " + islandId);
+		}
+
+		IslandData data = new IslandData(islandId, file);
+		data.readBinary(buffer);
+
+		if (fileVersion != VERSION) {
+			data.markDirty();
+		}
+
+		return data;
+	}
+
+	private static void deleteQuietly(Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException ex) {
+			FTBQuests.LOGGER.warn("can't delete stale island data file {}: {}", path, ex.getMessage());
+		}
+	}
+
 	@Override
 	public String toString() {
 		return name.isEmpty() ? islandId.toString() : name; // MODIFIED
@@ -162,7 +253,7 @@ public class IslandData { // RENAMED CLASS
 					markDirty();
 
 					if (file.isServerSide()) {
-						new ObjectStartedResetMessage(islandId, questId).sendTo(getOnlineMembers()); // MODIFIED
+						queueDelta().setStarted(questId, false);
 					}
 
 					return true;
@@ -173,7 +264,7 @@ public class IslandData { // RENAMED CLASS
 					markDirty();
 
 					if (file.isServerSide()) {
-						new ObjectStartedMessage(islandId, questId).sendTo(getOnlineMembers()); // MODIFIED
+						queueDelta().setStarted(questId, true);
 					}
 
 					return true;
@@ -184,6 +275,27 @@ public class IslandData { // RENAMED CLASS
 		return false;
 	}
 
+	private PendingProgressDelta queueDelta() {
+		if (pendingDelta.isEmpty() && file instanceof ServerQuestFile sqf) {
+			sqf.queueProgressDelta(this);
+		}
+		return pendingDelta;
+	}
+
+	/**
+	 * Send all progress changes made since the last flush to online members, as a single packet. Called once per
+	 * server tick by {@link ServerQuestFile#flushProgressDeltas()}.
+	 */
+	public void flushProgressDelta() {
+		if (!pendingDelta.isEmpty()) {
+			Collection<ServerPlayer> online = getOnlineMembers();
+			if (!online.isEmpty()) {
+				MessageBatcher.queue(online, new IslandProgressDeltaMessage(islandId, pendingDelta));
+			}
+			pendingDelta.clear();
+		}
+	}
+
 	public Optional<Date> getCompletedTime(long questId) {
 		long when = completed.get(questId);
 		return when == 0L ? Optional.empty() : Optional.of(new Date(when));
@@ -200,7 +312,7 @@ public class IslandData { // RENAMED CLASS
 				markDirty();
 
 				if (file.isServerSide()) {
-					new ObjectCompletedResetMessage(islandId, id).sendTo(getOnlineMembers()); // MODIFIED
+					queueDelta().setCompleted(id, false);
 				}
 
 				return true;
@@ -211,7 +323,7 @@ public class IslandData { // RENAMED CLASS
 				markDirty();
 
 				if (file.isServerSide()) {
-					new ObjectCompletedMessage(islandId, id).sendTo(getOnlineMembers()); // MODIFIED
+					queueDelta().setCompleted(id, true);
 				}
 
 				return true;
@@ -222,8 +334,7 @@ public class IslandData { // RENAMED CLASS
 	}
 
 	public Optional<Date> getRewardClaimTime(UUID player, Reward reward) {
-		QuestKey key = QuestKey.forReward(player, reward);
-		long t = claimedRewards.getLong(key);
+		long t = claimedRewards.getClaimTime(player, reward);
 		return t == 0L ? Optional.empty() : Optional.of(new Date(t));
 	}
 
@@ -243,7 +354,7 @@ public class IslandData { // RENAMED CLASS
 			clearCachedProgress();
 			markDirty();
 			if (file.isServerSide()) {
-				new SyncRewardBlockingMessage(islandId, rewardsBlocked).sendTo(getOnlineMembers()); // MODIFIED
+				MessageBatcher.queue(getOnlineMembers(), new SyncRewardBlockingMessage(islandId, rewardsBlocked)); // MODIFIED
 			}
 			return true;
 		}
@@ -251,15 +362,21 @@ public class IslandData { // RENAMED CLASS
 	}
 
 	public boolean isRewardClaimed(UUID player, Reward reward) {
-		return getRewardClaimTime(player, reward).isPresent();
+		return claimedRewards.getClaimTime(player, reward) != 0L;
 	}
 
 	public boolean hasUnclaimedRewards(UUID player, QuestObject object) {
-		QuestKey key = QuestKey.create(player, object.id);
-		byte b = unclaimedRewardsCache.getOrDefault(key, BOOL_UNKNOWN);
+		Long2ByteMap cache = unclaimedRewardsCache.get(player);
+		if (cache == null) {
+			cache = new Long2ByteOpenHashMap();
+			cache.defaultReturnValue(BOOL_UNKNOWN);
+			unclaimedRewardsCache.put(player, cache);
+		}
+
+		byte b = cache.get(object.id);
 		if (b == BOOL_UNKNOWN) {
 			b = object.hasUnclaimedRewardsRaw(this, player) ? BOOL_TRUE : BOOL_FALSE;
-			unclaimedRewardsCache.put(key, b);
+			cache.put(object.id, b);
 		}
 
 		return b == BOOL_TRUE;
@@ -270,15 +387,12 @@ public class IslandData { // RENAMED CLASS
 			return false;
 		}
 
-		QuestKey key = QuestKey.forReward(player, reward);
-
-		if (!claimedRewards.containsKey(key)) {
-			claimedRewards.put(key, date);
+		if (claimedRewards.claim(player, reward, date)) {
 			clearCachedProgress();
 			markDirty();
 
 			if (file.isServerSide()) {
-				new ClaimRewardResponseMessage(islandId, player, reward.id).sendTo(getOnlineMembers()); // MODIFIED
+				MessageBatcher.queue(getOnlineMembers(), new ClaimRewardResponseMessage(islandId, player, reward.id)); // MODIFIED
 			}
 
 			reward.getQuest().checkRepeatable(this, player);
@@ -289,20 +403,55 @@ public class IslandData { // RENAMED CLASS
 		return false;
 	}
 
+	/**
+	 * Claim several rewards for a player in one transaction. Progress caches are invalidated once, and a single
+	 * {@link ClaimRewardsResponseMessage} is sent to online members, rather than once per reward.
+	 *
+	 * @param player the player claiming the rewards
+	 * @param rewards the rewards to claim
+	 * @param date the claim time
+	 * @return the rewards which were actually claimed (i.e. not blocked and not already claimed)
+	 */
+	public List<Reward> claimRewards(UUID player, Collection<Reward> rewards, long date) {
+		if (locked) {
+			return List.of();
+		}
+
+		List<Reward> claimed = new ArrayList<>();
+		for (Reward reward : rewards) {
+			if (!isRewardBlocked(reward) && claimedRewards.claim(player, reward, date)) {
+				claimed.add(reward);
+			}
+		}
+
+		if (!claimed.isEmpty()) {
+			clearCachedProgress();
+			markDirty();
+
+			if (file.isServerSide()) {
+				MessageBatcher.queue(getOnlineMembers(), new ClaimRewardsResponseMessage(islandId, player, claimed));
+			}
+
+			claimed.stream().map(Reward::getQuest).distinct().forEach(quest -> quest.checkRepeatable(this, player));
+		}
+
+		return claimed;
+	}
+
 	public void deleteReward(Reward reward) {
-		if (!locked && claimedRewards.object2LongEntrySet().removeIf(e -> e.getKey().getId() == reward.id)) {
+		if (!locked && claimedRewards.removeAll(reward.id)) {
 			clearCachedProgress();
 			markDirty();
 		}
 	}
 
 	public boolean resetReward(UUID player, Reward reward) {
-		if (!locked && claimedRewards.removeLong(QuestKey.forReward(player, reward)) != 0L) {
+		if (!locked && claimedRewards.reset(player, reward)) {
 			clearCachedProgress();
 			markDirty();
 
 			if (file.isServerSide()) {
-				new ResetRewardMessage(islandId, player, reward.id).sendTo(getOnlineMembers()); // MODIFIED
+				MessageBatcher.queue(getOnlineMembers(), new ResetRewardMessage(islandId, player, reward.id)); // MODIFIED
 			}
 
 			return true;
@@ -314,8 +463,31 @@ public class IslandData { // RENAMED CLASS
 	public void clearCachedProgress() {
 		areDependenciesCompleteCache.clear();
 		areDependenciesVisibleCache.clear();
-		unclaimedRewardsCache.clear();
+		unclaimedRewardsCache.values().forEach(Long2ByteMap::clear);
 		exclusionCache.clear();
+		autoSubmitCandidatesCache.clear();
+
+		if (file instanceof ServerQuestFile sqf) {
+			sqf.queuePushTaskCheck(this);
+		}
+	}
+
+	/**
+	 * Get the tasks from an auto-submit bucket which could currently make progress for this island, i.e. those which
+	 * aren't complete and whose quest can be started. Cached until progress changes.
+	 *
+	 * @param bucket the bucket of tick-polled tasks
+	 * @return the subset of the bucket's tasks worth polling
+	 */
+	public List<Task> getAutoSubmitCandidates(TaskDispatchIndex.AutoSubmitBucket bucket) {
+		List<Task> res = autoSubmitCandidatesCache.get(bucket.period());
+		if (res == null) {
+			res = bucket.tasks().stream()
+					.filter(task -> !isCompleted(task) && canStartTasks(task.getQuest()))
+					.toList();
+			autoSubmitCandidatesCache.put(bucket.period(), res);
+		}
+		return res;
 	}
 
 	public SNBTCompoundTag serializeNBT() {
@@ -349,8 +521,11 @@ public class IslandData { // RENAMED CLASS
 		nbt.put("completed", completedNBT);
 
 		SNBTCompoundTag claimedRewardsNBT = new SNBTCompoundTag();
-		for (Object2LongMap.Entry<QuestKey> entry : claimedRewards.object2LongEntrySet().stream().sorted(OBJECT2LONG_COMPARATOR).toList()) {
-			claimedRewardsNBT.putLong(entry.getKey().toString(), entry.getLongValue());
+		List<Pair<QuestKey, Long>> claims = new ArrayList<>();
+		claimedRewards.forEach((player, rewardId, date) -> claims.add(Pair.of(QuestKey.create(player, rewardId), date)));
+		claims.sort((e1, e2) -> Long.compareUnsigned(e1.getRight(), e2.getRight()));
+		for (Pair<QuestKey, Long> entry : claims) {
+			claimedRewardsNBT.putLong(entry.getLeft().toString(), entry.getRight());
 		}
 		nbt.put("claimed_rewards", claimedRewardsNBT);
 
@@ -388,7 +563,8 @@ public class IslandData { // RENAMED CLASS
 
 		CompoundTag claimedRewardsNBT = nbt.getCompound("claimed_rewards");
 		for (String s : claimedRewardsNBT.getAllKeys()) {
-			claimedRewards.put(QuestKey.fromString(s), claimedRewardsNBT.getLong(s));
+			QuestKey key = QuestKey.fromString(s);
+			claimedRewards.put(key.uuid(), key.id(), claimedRewardsNBT.getLong(s));
 		}
 
 		CompoundTag taskProgressNBT = nbt.getCompound("task_progress");
@@ -417,6 +593,7 @@ public class IslandData { // RENAMED CLASS
 		}
 
 		members.clear();
+		invalidateOnlineMembers();
 		ListTag memberList = nbt.getList("members", Tag.TAG_STRING);
 		for (Tag memberTag : memberList) {
 			try {
@@ -427,6 +604,119 @@ public class IslandData { // RENAMED CLASS
 		}
 	}
 
+	/**
+	 * Compact on-disk alternative to {@link #serializeNBT()}. Object IDs are written as raw longs rather than hex
+	 * strings (they're random, so a varlong would usually be longer), and timestamps are sorted and delta-encoded, so large islands are a fraction of the SNBT size and
+	 * don't need any string parsing to load.
+	 *
+	 * @param buffer the buffer to write to
+	 */
+	public void writeBinary(FriendlyByteBuf buffer) {
+		buffer.writeInt(BINARY_MAGIC);
+		buffer.writeVarInt(VERSION);
+		buffer.writeUUID(islandId);
+		buffer.writeUtf(name, Short.MAX_VALUE);
+		buffer.writeBoolean(locked);
+		buffer.writeBoolean(rewardsBlocked);
+
+		long[] progressIds = taskProgress.keySet().toLongArray();
+		Arrays.sort(progressIds);
+		buffer.writeVarInt(progressIds.length);
+		for (long id : progressIds) {
+			buffer.writeLong(id);
+			buffer.writeVarLong(taskProgress.get(id));
+		}
+
+		writeTimestamps(buffer, started);
+		writeTimestamps(buffer, completed);
+
+		buffer.writeVarInt(claimedRewards.playerCount());
+		claimedRewards.forEachPlayer((playerId, claims) -> {
+			buffer.writeUUID(playerId);
+			writeTimestamps(buffer, claims);
+		});
+
+		Map<UUID, PerPlayerData> nonDefaultPlayerData = new HashMap<>();
+		perPlayerData.forEach((id, ppd) -> {
+			if (!ppd.hasDefaultValues()) {
+				nonDefaultPlayerData.put(id, ppd);
+			}
+		});
+		buffer.writeVarInt(nonDefaultPlayerData.size());
+		nonDefaultPlayerData.forEach((id, ppd) -> {
+			buffer.writeUUID(id);
+			ppd.writeNet(buffer);
+		});
+
+		buffer.writeVarInt(members.size());
+		for (UUID member : members) {
+			buffer.writeUUID(member);
+		}
+	}
+
+	private void readBinary(FriendlyByteBuf buffer) {
+		name = buffer.readUtf(Short.MAX_VALUE);
+		locked = buffer.readBoolean();
+		rewardsBlocked = buffer.readBoolean();
+
+		taskProgress.clear();
+		int progressCount = buffer.readVarInt();
+		for (int i = 0; i < progressCount; i++) {
+			taskProgress.put(buffer.readLong(), buffer.readVarLong());
+		}
+
+		started.clear();
+		readTimestamps(buffer, started::put);
+		completed.clear();
+		readTimestamps(buffer, completed::put);
+
+		claimedRewards.clear();
+		int claimingPlayers = buffer.readVarInt();
+		for (int i = 0; i < claimingPlayers; i++) {
+			UUID playerId = buffer.readUUID();
+			readTimestamps(buffer, (id, when) -> claimedRewards.put(playerId, id, when));
+		}
+
+		perPlayerData.clear();
+		int ppdCount = buffer.readVarInt();
+		for (int i = 0; i < ppdCount; i++) {
+			UUID id = buffer.readUUID();
+			perPlayerData.put(id, PerPlayerData.fromNet(buffer));
+		}
+
+		members.clear();
+		invalidateOnlineMembers();
+		int memberCount = buffer.readVarInt();
+		for (int i = 0; i < memberCount; i++) {
+			members.add(buffer.readUUID());
+		}
+	}
+
+	private static void writeTimestamps(FriendlyByteBuf buffer, Long2LongMap timestamps) {
+		buffer.writeVarInt(timestamps.size());
+		long prev = 0L;
+		for (Long2LongMap.Entry entry : timestamps.long2LongEntrySet().stream().sorted(LONG2LONG_COMPARATOR).toList()) {
+			buffer.writeLong(entry.getLongKey());
+			buffer.writeVarLong(entry.getLongValue() - prev);
+			prev = entry.getLongValue();
+		}
+	}
+
+	private static void readTimestamps(FriendlyByteBuf buffer, TimestampConsumer consumer) {
+		int count = buffer.readVarInt();
+		long when = 0L;
+		for (int i = 0; i < count; i++) {
+			long id = buffer.readLong();
+			when += buffer.readVarLong();
+			consumer.accept(id, when);
+		}
+	}
+
+	@FunctionalInterface
+	private interface TimestampConsumer {
+		void accept(long id, long when);
+	}
+
 	public void write(FriendlyByteBuf buffer, boolean self) {
 		buffer.writeUtf(name, Short.MAX_VALUE);
 		buffer.writeVarInt(taskProgress.size());
@@ -457,10 +747,11 @@ public class IslandData { // RENAMED CLASS
 
 		if (self) {
 			buffer.writeVarInt(claimedRewards.size());
-			for (Object2LongMap.Entry<QuestKey> entry : claimedRewards.object2LongEntrySet()) {
-				entry.getKey().toNetwork(buffer);
-				buffer.writeVarLong(now - entry.getLongValue());
-			}
+			claimedRewards.forEach((player, rewardId, date) -> {
+				buffer.writeUUID(player);
+				buffer.writeLong(rewardId);
+				buffer.writeVarLong(now - date);
+			});
 
 			buffer.writeVarInt(perPlayerData.size());
 			perPlayerData.forEach((id, ppd) -> {
@@ -507,8 +798,9 @@ public class IslandData { // RENAMED CLASS
 		if (self) {
 			int claimedRewardCount = buffer.readVarInt();
 			for (int i = 0; i < claimedRewardCount; i++) {
-				QuestKey key = QuestKey.fromNetwork(buffer);
-				claimedRewards.put(key, now - buffer.readVarLong());
+				UUID player = buffer.readUUID();
+				long rewardId = buffer.readLong();
+				claimedRewards.put(player, rewardId, now - buffer.readVarLong());
 			}
 
 			int ppdCount = buffer.readVarInt();
@@ -532,9 +824,44 @@ public class IslandData { // RENAMED CLASS
 	public void setMembers(Collection<UUID> newMembers) {
 		members.clear();
 		members.addAll(newMembers);
+		invalidateOnlineMembers();
 		markDirty();
 	}
 
+	private boolean isMemberOrOwner(UUID playerId) {
+		return members.contains(playerId) || islandId.equals(playerId);
+	}
+
+	/**
+	 * Called when a player logs in (or respawns, which creates a new player object) to keep the online member view
+	 * current without having to probe the player list.
+	 *
+	 * @param player the player
+	 */
+	public void onPlayerOnline(ServerPlayer player) {
+		if (onlineMembersValid && isMemberOrOwner(player.getUUID())) {
+			onlineMembers.put(player.getUUID(), player);
+			onlineMembersSnapshot = null;
+		}
+	}
+
+	/**
+	 * Called when a player logs out.
+	 *
+	 * @param playerId the player's UUID
+	 */
+	public void onPlayerOffline(UUID playerId) {
+		if (onlineMembers.remove(playerId) != null) {
+			onlineMembersSnapshot = null;
+		}
+	}
+
+	private void invalidateOnlineMembers() {
+		onlineMembersValid = false;
+		onlineMembers.clear();
+		onlineMembersSnapshot = null;
+	}
+
 	public int getRelativeProgress(QuestObject object) {
 		if (isCompleted(object)) {
 			return 100;
@@ -586,25 +913,45 @@ public class IslandData { // RENAMED CLASS
 		}
 	}
 
-	public Collection<ServerPlayer> getOnlineMembers() {
+	public void claimRewards(ServerPlayer player, Collection<Reward> rewards, boolean notify) {
+		RewardClaimBatch batch = new RewardClaimBatch();
+		for (Reward reward : claimRewards(player.getUUID(), rewards, System.currentTimeMillis())) {
+			reward.claim(player, notify, batch);
+		}
+		batch.grant(player, notify);
+	}
+
+	/**
+	 * Get the currently-online members of this island. The members are tracked by player login/logout events and
+	 * membership changes; the returned list is an immutable snapshot, rebuilt only after the online members change,
+	 * so it's safe to keep or iterate while players join or leave.
+	 *
+	 * @return the online members
+	 */
+	public List<ServerPlayer> getOnlineMembers() {
 		if (file instanceof ServerQuestFile sqf) {
-			List<ServerPlayer> onlinePlayers = new ArrayList<>();
-			for (UUID memberId : members) {
-				ServerPlayer player = sqf.server.getPlayerList().getPlayer(memberId);
-				if (player != null) {
-					onlinePlayers.add(player);
+			if (!onlineMembersValid) {
+				for (UUID memberId : members) {
+					ServerPlayer player = sqf.server.getPlayerList().getPlayer(memberId);
+					if (player != null) {
+						onlineMembers.put(memberId, player);
+					}
 				}
-			}
-			// Also include the owner if they are not in the members list for some reason
-			if (!members.contains(islandId)) {
-				ServerPlayer owner = sqf.server.getPlayerList().getPlayer(islandId);
-				if (owner != null) {
-					onlinePlayers.add(owner);
+				// Also include the owner if they are not in the members list for some reason
+				if (!members.contains(islandId)) {
+					ServerPlayer owner = sqf.server.getPlayerList().getPlayer(islandId);
+					if (owner != null) {
+						onlineMembers.put(islandId, owner);
+					}
 				}
+				onlineMembersValid = true;
+			}
+			if (onlineMembersSnapshot == null) {
+				onlineMembersSnapshot = List.copyOf(onlineMembers.values());
 			}
-			return onlinePlayers;
+			return onlineMembersSnapshot;
 		}
-		return Collections.emptyList();
+		return List.of();
 	}
 
 	public void checkAutoCompletion(Quest quest) {
@@ -652,6 +999,10 @@ public class IslandData { // RENAMED CLASS
 	public void resetProgress(Task task) {
 		if (taskProgress.remove(task.id) > 0L) {
 			markDirty();
+
+			if (file instanceof ServerQuestFile sqf) {
+				sqf.queuePushTaskRecheck(this, task);
+			}
 		}
 	}
 
@@ -675,11 +1026,15 @@ public class IslandData { // RENAMED CLASS
 
 			clearCachedProgress();
 
+			if (progress < prevProgress && file instanceof ServerQuestFile sqf) {
+				sqf.queuePushTaskRecheck(this, task);
+			}
+
 			if (file.isServerSide()) {
 				Date now = new Date();
 				Collection<ServerPlayer> onlineMembers = getOnlineMembers();
 
-				new UpdateTaskProgressMessage(this, task.id, progress).sendTo(onlineMembers);
+				queueDelta().setProgress(task.id, progress);
 
 				if (prevProgress == 0L) {
 					task.onStarted(new QuestProgressEventData<>(now, this, task, onlineMembers, Collections.emptyList()));
@@ -720,7 +1075,7 @@ public class IslandData { // RENAMED CLASS
 		if (isCompleted(task.getQuest())) {
 			perPlayerData.values().forEach(data -> data.pinnedQuests.remove(task.getQuest().id));
 			markDirty();
-			new TogglePinnedResponseMessage(task.getQuest().id, false).sendTo(onlineMembers);
+			MessageBatcher.queue(onlineMembers, new TogglePinnedResponseMessage(task.getQuest().id, false));
 		}
 	}
 
@@ -739,7 +1094,7 @@ public class IslandData { // RENAMED CLASS
 			markDirty();
 
 			if (file.isServerSide()) {
-				new SyncLockMessage(islandId, locked).sendTo(getOnlineMembers()); // MODIFIED
+				MessageBatcher.queue(getOnlineMembers(), new SyncLockMessage(islandId, locked)); // MODIFIED
 			}
 
 			return true;
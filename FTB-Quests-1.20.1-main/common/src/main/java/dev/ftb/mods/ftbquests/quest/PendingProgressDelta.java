@@ -0,0 +1,58 @@
+package dev.ftb.mods.ftbquests.quest;
+
+import it.unimi.dsi.fastutil.longs.Long2BooleanLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2BooleanMap;
+import it.unimi.dsi.fastutil.longs.Long2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+
+/**
+ * Progress changes for an island which haven't been sent to clients yet. Repeated changes to the same object within
+ * a tick coalesce (last value wins), and the whole lot is sent as one
+ * {@link dev.ftb.mods.ftbquests.net.IslandProgressDeltaMessage} when the server tick ends.
+ * <p>
+ * Clients apply progress changes first, then started, then completed changes.
+ */
+public final class PendingProgressDelta {
+	private final Long2LongMap progress = new Long2LongLinkedOpenHashMap();
+	private final Long2BooleanMap started = new Long2BooleanLinkedOpenHashMap();
+	private final Long2BooleanMap completed = new Long2BooleanLinkedOpenHashMap();
+
+	void setProgress(long taskId, long value) {
+		progress.put(taskId, value);
+		if (value == 0L) {
+			// a progress reset clears started/completed state on the client anyway
+			started.remove(taskId);
+			completed.remove(taskId);
+		}
+	}
+
+	void setStarted(long id, boolean isStarted) {
+		started.put(id, isStarted);
+	}
+
+	void setCompleted(long id, boolean isCompleted) {
+		completed.put(id, isCompleted);
+	}
+
+	public Long2LongMap getProgress() {
+		return progress;
+	}
+
+	public Long2BooleanMap getStarted() {
+		return started;
+	}
+
+	public Long2BooleanMap getCompleted() {
+		return completed;
+	}
+
+	public boolean isEmpty() {
+		return progress.isEmpty() && started.isEmpty() && completed.isEmpty();
+	}
+
+	void clear() {
+		progress.clear();
+		started.clear();
+		completed.clear();
+	}
+}
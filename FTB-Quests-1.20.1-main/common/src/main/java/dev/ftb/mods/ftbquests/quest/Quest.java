@@ -11,6 +11,7 @@ import dev.ftb.mods.ftblibrary.ui.Widget;
 import dev.ftb.mods.ftblibrary.ui.input.MouseButton;
 import dev.ftb.mods.ftblibrary.util.client.ClientUtils;
 import dev.ftb.mods.ftbquests.FTBQuests;
+import dev.ftb.mods.ftbquests.client.EditTransaction;
 import dev.ftb.mods.ftbquests.client.FTBQuestsClient;
 import dev.ftb.mods.ftbquests.client.gui.MultilineTextEditorScreen;
 import dev.ftb.mods.ftbquests.client.gui.quests.QuestScreen;
@@ -18,7 +19,6 @@ import dev.ftb.mods.ftbquests.events.ObjectCompletedEvent;
 import dev.ftb.mods.ftbquests.events.ObjectStartedEvent;
 import dev.ftb.mods.ftbquests.events.QuestProgressEventData;
 import dev.ftb.mods.ftbquests.integration.RecipeModHelper;
-import dev.ftb.mods.ftbquests.net.MoveMovableMessage;
 import dev.ftb.mods.ftbquests.quest.reward.Reward;
 import dev.ftb.mods.ftbquests.quest.reward.RewardClaimType;
 import dev.ftb.mods.ftbquests.quest.reward.RewardType;
@@ -651,12 +651,12 @@ public final class Quest extends QuestObject implements Movable, Excludable {
 	public void deleteChildren() {
 		for (Task task : tasks) {
 			task.deleteChildren();
-			task.invalid = true;
+			getQuestFile().removeFromIDMap(task);
 		}
 
 		for (Reward reward : rewards) {
 			reward.deleteChildren();
-			reward.invalid = true;
+			getQuestFile().removeFromIDMap(reward);
 		}
 
 		tasks.clear();
@@ -776,7 +776,7 @@ public final class Quest extends QuestObject implements Movable, Excludable {
 	@Override
 	@Environment(EnvType.CLIENT)
 	public void move(Chapter to, double x, double y) {
-		new MoveMovableMessage(this, to.id, x, y).sendToServer();
+		EditTransaction.move(this, to, x, y);
 	}
 
 	@Override
@@ -885,7 +885,7 @@ public final class Quest extends QuestObject implements Movable, Excludable {
 			if (autofix) {
 				FTBQuests.LOGGER.error("Too deep dependencies found in " + this + " (referenced in " + ex.object + ")! Deleting all dependencies...");
 				clearDependencies();
-				chapter.file.markDirty();
+				chapter.file.markDirty(this);
 			} else {
 				FTBQuests.LOGGER.error("Too deep dependencies found in " + this + " (referenced in " + ex.object + ")!");
 			}
@@ -895,7 +895,7 @@ public final class Quest extends QuestObject implements Movable, Excludable {
 			if (autofix) {
 				FTBQuests.LOGGER.error("Looping dependencies found in " + this + " (referenced in " + ex.object + ")! Deleting all dependencies...");
 				clearDependencies();
-				chapter.file.markDirty();
+				chapter.file.markDirty(this);
 			} else {
 				FTBQuests.LOGGER.error("Looping dependencies found in " + this + " (referenced in " + ex.object + ")!");
 			}
@@ -0,0 +1,97 @@
+package dev.ftb.mods.ftbquests.quest;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An {@link EncodedQuestBook}, deflate-compressed and split into fixed-size frames for sending to clients a few at a
+ * time, instead of as one packet which can be several megabytes for large books.
+ *
+ * @param hash hash of the uncompressed book
+ * @param uncompressedLength size of the uncompressed book
+ * @param frames the compressed book, in order
+ */
+public record QuestBookFrames(String hash, int uncompressedLength, List<byte[]> frames) {
+	public static final int FRAME_SIZE = 32 * 1024;
+
+	public static QuestBookFrames of(EncodedQuestBook book) {
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		List<byte[]> frames = new ArrayList<>();
+
+		try {
+			deflater.setInput(book.data());
+			deflater.finish();
+
+			byte[] frame = new byte[FRAME_SIZE];
+			int len = 0;
+			while (!deflater.finished()) {
+				len += deflater.deflate(frame, len, FRAME_SIZE - len);
+				if (len == FRAME_SIZE) {
+					frames.add(frame);
+					frame = new byte[FRAME_SIZE];
+					len = 0;
+				}
+			}
+			if (len > 0 || frames.isEmpty()) {
+				frames.add(Arrays.copyOf(frame, len));
+			}
+		} finally {
+			deflater.end();
+		}
+
+		return new QuestBookFrames(book.hash(), book.data().length, List.copyOf(frames));
+	}
+
+	/**
+	 * Rebuild the book from its compressed frames.
+	 *
+	 * @param hash the expected hash
+	 * @param uncompressedLength the expected uncompressed size
+	 * @param compressed all the frames, concatenated
+	 * @return the book
+	 * @throws DataFormatException if the data is corrupt, or doesn't match the expected size or hash
+	 */
+	public static EncodedQuestBook decompress(String hash, int uncompressedLength, byte[] compressed) throws DataFormatException {
+		Inflater inflater = new Inflater();
+
+		try {
+			inflater.setInput(compressed);
+			byte[] data = new byte[uncompressedLength];
+			int len = 0;
+			while (len < uncompressedLength && !inflater.finished()) {
+				int n = inflater.inflate(data, len, uncompressedLength - len);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				len += n;
+			}
+
+			if (len != uncompressedLength || !inflater.finished()) {
+				throw new DataFormatException("quest book size mismatch");
+			}
+			if (!EncodedQuestBook.hash(data).equals(hash)) {
+				throw new DataFormatException("quest book hash mismatch");
+			}
+
+			return new EncodedQuestBook(hash, data);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * Concatenate frames back into one compressed array.
+	 */
+	public static byte[] join(List<byte[]> frames) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(frames.size() * FRAME_SIZE);
+		for (byte[] frame : frames) {
+			out.writeBytes(frame);
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,174 @@
+package dev.ftb.mods.ftbquests.quest;
+
+import dev.ftb.mods.ftbquests.net.EditRejectedMessage;
+import dev.ftb.mods.ftbquests.net.MoveMovableMessage;
+import dev.ftb.mods.ftbquests.net.MoveMovableResponseMessage;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerPlayer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Server side of quest book editing. Every edit, move and delete sent by an editor says which version of the object
+ * (see {@link BaseQuestFile#getObjectVersion(long)}) it was based on, and is rejected if someone else has changed the
+ * object since then, rather than silently overwriting their change. The editor is then sent the object's current state.
+ * <p>
+ * An editor's own changes never conflict with each other, so a client can send several changes to the same object
+ * without waiting for the responses in between.
+ * <p>
+ * Moves and deletes carry any number of objects, and are applied as a transaction: either every object is current and
+ * they're all applied, with caches rebuilt and a single response sent once for the lot, or nothing is applied.
+ */
+public class QuestEditSession {
+	private final ServerQuestFile file;
+	// the player who made the latest unbroken run of changes to each object, and the version that run started at
+	private final Long2ObjectMap<EditRun> latestRuns = new Long2ObjectOpenHashMap<>();
+
+	QuestEditSession(ServerQuestFile file) {
+		this.file = file;
+	}
+
+	/**
+	 * Check whether a change to an object can be applied.
+	 *
+	 * @param player the player making the change
+	 * @param id the object's id
+	 * @param basedOn the object version the change was made against
+	 * @return true if nobody but the player has changed the object since that version
+	 */
+	public boolean isCurrent(ServerPlayer player, long id, int basedOn) {
+		int version = file.getObjectVersion(id);
+		if (basedOn == version) {
+			return true;
+		}
+
+		EditRun run = latestRuns.get(id);
+		return run != null && run.editor.equals(player.getUUID()) && basedOn >= run.firstVersion - 1 && basedOn < version;
+	}
+
+	/**
+	 * Record that an object has been changed, increasing its version.
+	 *
+	 * @param id the object's id
+	 * @param editor the player who changed it, or null if it wasn't changed by a player
+	 * @return the object's new version
+	 */
+	int recordChange(long id, @Nullable UUID editor) {
+		int version = file.getObjectVersion(id) + 1;
+		file.setObjectVersion(id, version);
+
+		if (editor == null) {
+			latestRuns.remove(id);
+		} else {
+			EditRun run = latestRuns.get(id);
+			if (run == null || !run.editor.equals(editor)) {
+				latestRuns.put(id, new EditRun(editor, version));
+			}
+		}
+
+		return version;
+	}
+
+	void recordDeleted(long id) {
+		file.setObjectVersion(id, 0);
+		latestRuns.remove(id);
+	}
+
+	void clear() {
+		latestRuns.clear();
+	}
+
+	/**
+	 * Replace an object's data with what an editor sent, if it's current.
+	 */
+	public void edit(ServerPlayer player, long id, int basedOn, CompoundTag nbt) {
+		QuestObjectBase object = file.getBase(id);
+
+		if (object == null) {
+			// deleted since; the client is told about that separately
+			return;
+		}
+
+		if (!isCurrent(player, id, basedOn)) {
+			CompoundTag current = new CompoundTag();
+			object.writeData(current);
+			new EditRejectedMessage(id, file.getObjectVersion(id), current).sendTo(player);
+			return;
+		}
+
+		file.applyEdit(object, player.getUUID(), () -> {
+			object.readData(nbt);
+			object.editedFromGUIOnServer();
+		});
+	}
+
+	/**
+	 * Move any number of quests and quest links as one transaction.
+	 */
+	public void move(ServerPlayer player, List<MoveMovableMessage.Move> moves) {
+		List<Movable> movables = new ArrayList<>(moves.size());
+
+		for (MoveMovableMessage.Move move : moves) {
+			// the client only moves objects once the server says so, so it has nothing to undo
+			if (!(file.get(move.id()) instanceof Movable movable) || file.getChapter(move.chapterId()) == null
+					|| !isCurrent(player, move.id(), move.basedOn())) {
+				// the object or chapter has been deleted (the client is told about that separately), or changed
+				new EditRejectedMessage(move.id(), file.getObjectVersion(move.id()), null).sendTo(player);
+				return;
+			}
+			movables.add(movable);
+		}
+
+		boolean chapterChanged = false;
+		List<MoveMovableMessage.Move> applied = new ArrayList<>(moves.size());
+
+		for (int i = 0; i < moves.size(); i++) {
+			MoveMovableMessage.Move move = moves.get(i);
+			Movable movable = movables.get(i);
+
+			if (movable.getChapter().id != move.chapterId()) {
+				chapterChanged = true;
+			}
+
+			movable.onMoved(move.x(), move.y(), move.chapterId());
+			file.markDirty(movable.getChapter());
+			applied.add(move.withVersion(recordChange(move.id(), player.getUUID())));
+		}
+
+		if (chapterChanged) {
+			// moving between chapters can also update links in other chapters, and changes chapter progress
+			file.markDirty();
+			file.clearCachedData();
+		}
+
+		QuestBookTransfers.sendBookChange(file.server, new MoveMovableResponseMessage(applied));
+	}
+
+	/**
+	 * Delete any number of objects (with their children) as one transaction. Objects which no longer exist are
+	 * ignored, since someone else deleting them first doesn't make any difference.
+	 *
+	 * @param basedOn the ids of the objects, with the version each deletion was made against
+	 */
+	public void delete(ServerPlayer player, Long2IntMap basedOn) {
+		for (Long2IntMap.Entry entry : basedOn.long2IntEntrySet()) {
+			long id = entry.getLongKey();
+			if (file.getBase(id) != null && !isCurrent(player, id, entry.getIntValue())) {
+				new EditRejectedMessage(id, file.getObjectVersion(id), null).sendTo(player);
+				return;
+			}
+		}
+
+		file.deleteObjects(basedOn.keySet());
+	}
+
+	private record EditRun(UUID editor, int firstVersion) {
+	}
+}
@@ -3,9 +3,9 @@ package dev.ftb.mods.ftbquests.quest;
 import dev.ftb.mods.ftblibrary.config.ConfigGroup;
 import dev.ftb.mods.ftblibrary.icon.Icon;
 import dev.ftb.mods.ftblibrary.util.client.ClientUtils;
+import dev.ftb.mods.ftbquests.client.EditTransaction;
 import dev.ftb.mods.ftbquests.client.FTBQuestsClient;
 import dev.ftb.mods.ftbquests.client.gui.quests.QuestScreen;
-import dev.ftb.mods.ftbquests.net.MoveMovableMessage;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.nbt.CompoundTag;
@@ -196,7 +196,7 @@ public class QuestLink extends QuestObject implements Movable, Excludable {
 
     @Override
     public void move(Chapter to, double x, double y) {
-        new MoveMovableMessage(this, to.id, x, y).sendToServer();
+        EditTransaction.move(this, to, x, y);
     }
 
     @Override
@@ -211,15 +211,17 @@ public abstract class QuestObjectBase implements Comparable<QuestObjectBase> {
 
 		ListTag tagsList = nbt.getList("tags", Tag.TAG_STRING);
 
-		tags = new ArrayList<>(tagsList.size());
+		List<String> newTags = new ArrayList<>(tagsList.size());
 
 		for (int i = 0; i < tagsList.size(); i++) {
-			tags.add(tagsList.getString(i));
+			newTags.add(tagsList.getString(i));
 		}
 
 		if (nbt.contains("custom_id")) {
-			tags.add(nbt.getString("custom_id"));
+			newTags.add(nbt.getString("custom_id"));
 		}
+
+		setTags(newTags);
 	}
 
 	public void writeNetData(FriendlyByteBuf buffer) {
@@ -247,10 +249,22 @@ public abstract class QuestObjectBase implements Comparable<QuestObjectBase> {
 		int flags = buffer.readVarInt();
 		rawTitle = Bits.getFlag(flags, 1) ? buffer.readUtf(Short.MAX_VALUE) : "";
 		rawIcon = Bits.getFlag(flags, 2) ? buffer.readItem() : ItemStack.EMPTY;
-		tags = new ArrayList<>(0);
+		List<String> newTags = new ArrayList<>(0);
 
 		if (Bits.getFlag(flags, 4)) {
-			NetUtils.readStrings(buffer, tags);
+			NetUtils.readStrings(buffer, newTags);
+		}
+
+		setTags(newTags);
+	}
+
+	private void setTags(List<String> newTags) {
+		List<String> oldTags = tags;
+		tags = newTags;
+		cachedTags = null;
+
+		if (!oldTags.equals(newTags)) {
+			getQuestFile().tagsChanged(this, oldTags);
 		}
 	}
 
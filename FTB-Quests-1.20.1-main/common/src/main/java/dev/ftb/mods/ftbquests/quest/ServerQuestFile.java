@@ -1,32 +1,60 @@
 package dev.ftb.mods.ftbquests.quest;
 
 import com.mojang.util.UUIDTypeAdapter;
+import dev.architectury.hooks.level.entity.PlayerHooks;
 import dev.architectury.platform.Platform;
 import dev.architectury.utils.Env;
 import dev.ftb.mods.ftblibrary.snbt.SNBT;
 import dev.ftb.mods.ftblibrary.snbt.SNBTCompoundTag;
 import dev.ftb.mods.ftbquests.FTBQuests;
+import dev.ftb.mods.ftbquests.config.FTBQuestsTeamConfig;
 import dev.ftb.mods.ftbquests.events.QuestProgressEventData;
 import dev.ftb.mods.ftbquests.integration.PermissionsHelper;
 import dev.ftb.mods.ftbquests.net.*;
+import dev.ftb.mods.ftbquests.quest.loot.RewardTable;
+import dev.ftb.mods.ftbquests.quest.reward.Reward;
 import dev.ftb.mods.ftbquests.quest.reward.RewardType;
 import dev.ftb.mods.ftbquests.quest.reward.RewardTypes;
+import dev.ftb.mods.ftbquests.quest.task.DetectionContext;
 import dev.ftb.mods.ftbquests.quest.task.Task;
 import dev.ftb.mods.ftbquests.quest.task.TaskType;
 import dev.ftb.mods.ftbquests.quest.task.TaskTypes;
 import com.skyblock.dynamic.nestworld.mods.NestworldModsServer;
 import dev.ftb.mods.ftbquests.util.FTBQuestsInventoryListener;
-import dev.ftb.mods.ftbquests.util.FileUtils;
+import dev.ftb.mods.ftbquests.util.QuestBookTransfers;
+import dev.ftb.mods.ftbquests.util.QuestFileWriter;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.storage.LevelResource;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public class ServerQuestFile extends BaseQuestFile {
@@ -34,11 +62,35 @@ public class ServerQuestFile extends BaseQuestFile {
 
 	public static ServerQuestFile INSTANCE;
 
+	// edits to these keys (of quests, chapters and groups) only change how things look, not progress or visibility
+	private static final Set<String> COSMETIC_KEYS = Set.of(
+			"title", "icon", "tags", "disable_toast", "x", "y", "shape", "size", "icon_scale", "min_width",
+			"subtitle", "description", "guide_page", "hide_dependency_lines", "hide_dependent_lines",
+			"hide_text_until_complete", "hide_lock_icon", "images", "filename", "autofocus_id",
+			"default_quest_shape", "default_quest_size", "default_hide_dependency_lines", "default_min_width"
+	);
+
 	public final MinecraftServer server;
 	private boolean shouldSave;
+	private boolean saveAll;
+	private boolean fileDataDirty;
+	private final Set<Chapter> dirtyChapters = new HashSet<>();
+	private final Set<RewardTable> dirtyRewardTables = new HashSet<>();
+	private final QuestFileWriter fileWriter = new QuestFileWriter();
 	private boolean isLoading;
 	private Path folder;
-	private ServerPlayer currentPlayer = null;
+	private final Deque<DetectionContext> detectionContexts = new ArrayDeque<>();
+	private final Set<IslandData> pendingProgressDeltas = new LinkedHashSet<>();
+	private final Set<IslandData> pendingPushTaskChecks = new LinkedHashSet<>();
+	// for each island, the push-driven tasks which were submitted at its last push task check, and so have been
+	// reacting to events since
+	private final Map<UUID, LongSet> checkedPushTasks = new HashMap<>();
+	private TaskDispatchIndex pushTaskCheckIndex = null;
+	private TaskDispatchIndex taskDispatchIndex = null;
+	private EncodedQuestBook encodedBook = null;
+	private QuestBookFrames bookFrames = null;
+	private final Long2ObjectMap<Set<String>> pendingEditBroadcasts = new Long2ObjectLinkedOpenHashMap<>();
+	private final QuestEditSession editSession = new QuestEditSession(this);
 
 	public ServerQuestFile(MinecraftServer s) {
 		server = s;
@@ -63,6 +115,14 @@ public class ServerQuestFile extends BaseQuestFile {
 	public void load() {
 		folder = Platform.getConfigFolder().resolve("ftbquests/quests");
 
+		// files may have been edited by hand since they were written, and must be completely written before reading
+		fileWriter.flush();
+		fileWriter.forgetWritten();
+		// clients get the reloaded book, all at version 0
+		getObjectVersions().clear();
+		editSession.clear();
+		checkedPushTasks.clear();
+
 		if (Files.exists(folder)) {
 			FTBQuests.LOGGER.info("Loading quests from " + folder);
 			isLoading = true;
@@ -73,25 +133,96 @@ public class ServerQuestFile extends BaseQuestFile {
 		Path path = server.getWorldPath(FTBQUESTS_DATA);
 
 		if (Files.exists(path)) {
+			// an island's data is in one format or the other, but an interrupted migration between them can leave both
+			Map<String, Path> snbtFiles = new HashMap<>();
+			Map<String, Path> binaryFiles = new HashMap<>();
+
 			try (Stream<Path> s = Files.list(path)) {
-				s.filter(p -> p.getFileName().toString().contains("-") && p.getFileName().toString().endsWith(".snbt")).forEach(path1 -> {
-					SNBTCompoundTag nbt = SNBT.read(path1);
-
-					if (nbt != null) {
-						try {
-							UUID uuid = UUIDTypeAdapter.fromString(nbt.getString("uuid"));
-							IslandData data = new IslandData(uuid, this);
-							addData(data, true);
-							data.deserializeNBT(nbt);
-						} catch (Exception ex) {
-							ex.printStackTrace();
-						}
+				s.filter(p -> p.getFileName().toString().contains("-")).forEach(path1 -> {
+					String fileName = path1.getFileName().toString();
+
+					if (fileName.endsWith(IslandData.SNBT_EXTENSION)) {
+						snbtFiles.put(fileName.substring(0, fileName.length() - IslandData.SNBT_EXTENSION.length()), path1);
+					} else if (fileName.endsWith(IslandData.BINARY_EXTENSION)) {
+						binaryFiles.put(fileName.substring(0, fileName.length() - IslandData.BINARY_EXTENSION.length()), path1);
 					}
 				});
 			} catch (Exception ex) {
-				ex.printStackTrace();
+				FTBQuests.LOGGER.error("failed to list island progress data in {}", path, ex);
+			}
+
+			Set<String> islands = new LinkedHashSet<>(snbtFiles.keySet());
+			islands.addAll(binaryFiles.keySet());
+
+			for (String island : islands) {
+				Path snbtPath = snbtFiles.get(island);
+				Path binaryPath = binaryFiles.get(island);
+				IslandData data;
+
+				if (snbtPath != null && binaryPath != null) {
+					// the newer file is the last one written before the migration stopped; the older is only a fallback
+					boolean binaryNewer = lastModified(binaryPath) >= lastModified(snbtPath);
+					FTBQuests.LOGGER.warn("island {} has both SNBT and binary progress data, loading the newer {}", island, binaryNewer ? binaryPath : snbtPath);
+					data = binaryNewer ? readIslandBinary(binaryPath) : readIslandSNBT(snbtPath);
+
+					if (data == null) {
+						FTBQuests.LOGGER.error("failed to load progress data for island {}, falling back to the older {}", island, binaryNewer ? snbtPath : binaryPath);
+						data = binaryNewer ? readIslandSNBT(snbtPath) : readIslandBinary(binaryPath);
+					}
+
+					if (data != null) {
+						// rewrite in the configured format, deleting the other file
+						data.markDirty();
+					}
+				} else {
+					data = snbtPath != null ? readIslandSNBT(snbtPath) : readIslandBinary(binaryPath);
+
+					if (data != null && FTBQuestsTeamConfig.BINARY_ISLAND_DATA.get() == (snbtPath != null)) {
+						// migrate to the configured format on next save
+						data.markDirty();
+					}
+				}
+			}
+		}
+	}
+
+	@Nullable
+	private IslandData readIslandSNBT(Path path) {
+		SNBTCompoundTag nbt = SNBT.read(path);
+
+		if (nbt != null) {
+			try {
+				UUID uuid = UUIDTypeAdapter.fromString(nbt.getString("uuid"));
+				IslandData data = new IslandData(uuid, this);
+				data.deserializeNBT(nbt);
+				addData(data, true);
+				return data;
+			} catch (Exception ex) {
+				FTBQuests.LOGGER.error("failed to read island progress data from {}", path, ex);
 			}
 		}
+
+		return null;
+	}
+
+	@Nullable
+	private IslandData readIslandBinary(Path path) {
+		try {
+			IslandData data = IslandData.readBinaryFile(this, path);
+			addData(data, true);
+			return data;
+		} catch (Exception ex) {
+			FTBQuests.LOGGER.error("failed to read island progress data from {}", path, ex);
+			return null;
+		}
+	}
+
+	private static long lastModified(Path path) {
+		try {
+			return Files.getLastModifiedTime(path).toMillis();
+		} catch (IOException ex) {
+			return 0L;
+		}
 	}
 
 	@Override
@@ -111,50 +242,464 @@ public class ServerQuestFile extends BaseQuestFile {
 
 	@Override
 	public void deleteObject(long id) {
-		QuestObjectBase object = getBase(id);
+		deleteObjects(LongList.of(id));
+	}
+
+	/**
+	 * Delete several objects (with their children) at once, rebuilding the id map only once, and telling clients with
+	 * a single message.
+	 */
+	public void deleteObjects(LongCollection ids) {
+		boolean deleted = false;
+
+		for (long id : ids) {
+			QuestObjectBase object = getBase(id);
+
+			if (object != null) {
+				object.deleteChildren();
+				object.deleteSelf();
+				object.getPath().ifPresent(this::deleteFile);
+				deleted = true;
+			}
+
+			editSession.recordDeleted(id);
+		}
+
+		if (deleted) {
+			// the deleted objects' children are gone too
+			for (long id : getObjectVersions().keySet().toLongArray()) {
+				if (getBase(id) == null) {
+					editSession.recordDeleted(id);
+				}
+			}
 
-		if (object != null) {
-			object.deleteChildren();
-			object.deleteSelf();
-			refreshIDMap();
+			clearCachedData();
 			markDirty();
-			object.getPath().ifPresent(path -> FileUtils.delete(getFolder().resolve(path).toFile()));
 		}
 
-		new DeleteObjectResponseMessage(id).sendToAll(server);
+		QuestBookTransfers.sendBookChange(server, new DeleteObjectResponseMessage(new LongArrayList(ids)));
+	}
+
+	public QuestEditSession getEditSession() {
+		return editSession;
 	}
 
 	@Override
 	public void markDirty() {
 		shouldSave = true;
+		saveAll = true;
+		// anything saved to the quest files is also part of the book sent to clients
+		clearEncodedBook();
+	}
+
+	@Override
+	public void markDirty(QuestObjectBase object) {
+		shouldSave = true;
+		clearEncodedBook();
+
+		if (object instanceof RewardTable table) {
+			dirtyRewardTables.add(table);
+		} else if (object instanceof QuestLink link) {
+			dirtyChapters.add(link.getChapter());
+		} else if (object.getQuestChapter() != null) {
+			dirtyChapters.add(object.getQuestChapter());
+		} else if (object instanceof ChapterGroup || object instanceof BaseQuestFile) {
+			fileDataDirty = true;
+		} else {
+			saveAll = true;
+		}
 	}
 
+	/**
+	 * Delete one of the quest book's files (or folders), after any writes already queued for it.
+	 *
+	 * @param path the path, relative to the quests folder
+	 */
+	public void deleteFile(String path) {
+		fileWriter.delete(getFolder().resolve(path));
+	}
+
+	/**
+	 * Save the quest book. Only the files holding objects which were marked dirty are serialized again (everything if
+	 * {@link #markDirty()} was used), and of those, only the ones whose content actually changed are written, in the
+	 * background; see {@link QuestFileWriter}.
+	 */
 	public void saveNow() {
 		if (shouldSave) {
-			writeDataFull(getFolder());
+			writeDirtyFiles();
 			shouldSave = false;
+			saveAll = false;
+			fileDataDirty = false;
+			dirtyChapters.clear();
+			dirtyRewardTables.clear();
 		}
 
 		getAllIslandData().forEach(IslandData::saveIfChanged);
 	}
 
+	/**
+	 * Rewrite every file of the quest book, even those which haven't changed since they were last written.
+	 */
+	public void forceSave() {
+		fileWriter.forgetWritten();
+		markDirty();
+		saveNow();
+	}
+
+	private void writeDirtyFiles() {
+		boolean prev = false;
+		try {
+			prev = SNBT.setShouldSortKeysOnWrite(true);
+
+			if (saveAll || fileDataDirty) {
+				writeFile("data.snbt", writeFileNBT());
+				writeFile("chapter_groups.snbt", writeChapterGroupsNBT());
+			}
+
+			for (ChapterGroup group : getChapterGroups()) {
+				List<Chapter> chapters = group.getChapters();
+				for (int ci = 0; ci < chapters.size(); ci++) {
+					Chapter chapter = chapters.get(ci);
+					if (saveAll || dirtyChapters.contains(chapter)) {
+						writeFile(chapter.getPath().orElseThrow(), writeChapterNBT(chapter, ci));
+					}
+				}
+			}
+
+			List<RewardTable> tables = getRewardTables();
+			for (int ri = 0; ri < tables.size(); ri++) {
+				RewardTable table = tables.get(ri);
+				if (saveAll || dirtyRewardTables.contains(table)) {
+					writeFile(table.getPath().orElseThrow(), writeRewardTableNBT(table, ri));
+				}
+			}
+		} finally {
+			SNBT.setShouldSortKeysOnWrite(prev);
+		}
+	}
+
+	private void writeFile(String path, SNBTCompoundTag nbt) {
+		fileWriter.write(getFolder().resolve(path), SNBT.writeLines(nbt));
+	}
+
 	public void unload() {
 		saveNow();
+		fileWriter.close();
 		deleteChildren();
 		deleteSelf();
 	}
 
+	/**
+	 * @return the player whose actions are currently being processed (innermost if detection passes are nested),
+	 * or null if none
+	 */
 	public ServerPlayer getCurrentPlayer() {
-		return currentPlayer;
+		DetectionContext ctx = detectionContexts.peek();
+		return ctx == null ? null : ctx.getPlayer();
 	}
 
 	public void withPlayerContext(ServerPlayer player, Runnable toDo) {
-		currentPlayer = player;
+		withDetectionContext(player, ItemStack.EMPTY, 0L, ctx -> toDo.run());
+	}
+
+	/**
+	 * Run some task detection code with a fresh {@link DetectionContext}, which is released afterwards. Calls may be
+	 * nested; {@link #getCurrentPlayer()} reflects the innermost context.
+	 *
+	 * @param player the player
+	 * @param craftedItem the item just crafted or smelted, or {@code ItemStack.EMPTY}
+	 * @param sourceTask ID of the task which triggered this detection pass, or 0
+	 * @param toDo the code to run
+	 */
+	public void withDetectionContext(ServerPlayer player, ItemStack craftedItem, long sourceTask, Consumer<DetectionContext> toDo) {
+		DetectionContext ctx = DetectionContext.obtain(player, craftedItem, sourceTask);
+		detectionContexts.push(ctx);
 		try {
-			toDo.run();
+			toDo.accept(ctx);
 		} finally {
-			currentPlayer = null;
+			detectionContexts.pop();
+			ctx.release();
+		}
+	}
+
+	@Override
+	public void clearCachedData() {
+		taskDispatchIndex = null;
+		clearEncodedBook();
+		super.clearCachedData();
+	}
+
+	/**
+	 * Discard the encoded book, so it's encoded again from the current quests when next needed. Marking any part of
+	 * the book dirty does this, so that no change can be missed out of the book sent to clients.
+	 */
+	private void clearEncodedBook() {
+		encodedBook = null;
+		bookFrames = null;
+	}
+
+	@Override
+	public void clearCachedTaskLists() {
+		taskDispatchIndex = null;
+		super.clearCachedTaskLists();
+	}
+
+	public TaskDispatchIndex getTaskDispatchIndex() {
+		if (taskDispatchIndex == null) {
+			taskDispatchIndex = new TaskDispatchIndex(this);
+		}
+		return taskDispatchIndex;
+	}
+
+	/**
+	 * Get the network encoding of the whole quest file, as sent to clients. Built on demand, and discarded whenever
+	 * cached data is cleared, i.e. after any edit.
+	 */
+	public EncodedQuestBook getEncodedBook() {
+		if (encodedBook == null) {
+			encodedBook = EncodedQuestBook.encode(this);
+		}
+		return encodedBook;
+	}
+
+	/**
+	 * Get the current book compressed and split into frames, ready for streaming to clients; built on demand like
+	 * {@link #getEncodedBook()}.
+	 */
+	public QuestBookFrames getBookFrames() {
+		if (bookFrames == null) {
+			bookFrames = QuestBookFrames.of(getEncodedBook());
+		}
+		return bookFrames;
+	}
+
+	void queueProgressDelta(IslandData data) {
+		pendingProgressDeltas.add(data);
+	}
+
+	public void flushProgressDeltas() {
+		if (!pendingProgressDeltas.isEmpty()) {
+			pendingProgressDeltas.forEach(IslandData::flushProgressDelta);
+			pendingProgressDeltas.clear();
+		}
+	}
+
+	/**
+	 * Schedule a check of the island's event-driven tasks (see {@link TaskDispatchIndex#getPushTasks()}) for its online
+	 * members, at the end of this tick. Needed whenever some of those tasks may have become startable, since they
+	 * otherwise only react to changes. Only tasks which weren't submitted at the island's last check, because their
+	 * quest couldn't be started, an earlier task in a sequential quest wasn't complete, or they were complete (and
+	 * have been reset since), are submitted.
+	 */
+	public void queuePushTaskCheck(IslandData data) {
+		pendingPushTaskChecks.add(data);
+	}
+
+	/**
+	 * Schedule a check of all the island's startable event-driven tasks, e.g. when a member comes online and may
+	 * already meet some of them; see {@link #queuePushTaskCheck(IslandData)}.
+	 */
+	public void queueFullPushTaskCheck(IslandData data) {
+		checkedPushTasks.remove(data.getTeamId());
+		pendingPushTaskChecks.add(data);
+	}
+
+	/**
+	 * Schedule a check of a push-driven task whose progress has gone down, e.g. by a repeatable quest being reset,
+	 * since events it already reacted to may need to count again.
+	 */
+	public void queuePushTaskRecheck(IslandData data, Task task) {
+		LongSet checked = checkedPushTasks.get(data.getTeamId());
+		if (checked != null && checked.remove(task.id)) {
+			pendingPushTaskChecks.add(data);
+		}
+	}
+
+	public void flushPushTaskChecks() {
+		if (!pendingPushTaskChecks.isEmpty()) {
+			// checks may change progress and queue their island again, which is then handled next tick
+			List<IslandData> toCheck = new ArrayList<>(pendingPushTaskChecks);
+			pendingPushTaskChecks.clear();
+
+			TaskDispatchIndex index = getTaskDispatchIndex();
+			if (index != pushTaskCheckIndex) {
+				// tasks may have been added or changed, so they all need checking
+				checkedPushTasks.clear();
+				pushTaskCheckIndex = index;
+			}
+
+			List<Task> pushTasks = index.getPushTasks();
+			if (!pushTasks.isEmpty()) {
+				for (IslandData data : toCheck) {
+					checkPushTasks(data, pushTasks);
+				}
+			}
+		}
+	}
+
+	private void checkPushTasks(IslandData data, List<Task> tasks) {
+		if (data.isLocked()) {
+			return;
+		}
+
+		Collection<ServerPlayer> online = data.getOnlineMembers();
+		if (online.isEmpty()) {
+			return;
+		}
+
+		LongSet previouslyChecked = checkedPushTasks.get(data.getTeamId());
+		LongSet checked = new LongOpenHashSet();
+		List<Task> candidates = new ArrayList<>();
+		for (Task task : tasks) {
+			if (!data.isCompleted(task) && data.canStartTasks(task.getQuest()) && task.checkTaskSequence(data)) {
+				checked.add(task.id);
+				if (previouslyChecked == null || !previouslyChecked.contains(task.id)) {
+					candidates.add(task);
+				}
+			}
+		}
+		checkedPushTasks.put(data.getTeamId(), checked);
+
+		if (!candidates.isEmpty()) {
+			for (ServerPlayer player : List.copyOf(online)) {
+				if (!PlayerHooks.isFake(player)) {
+					submitTasks(data, player, candidates);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Submit each of the given tasks which isn't complete and whose quest can be started, in one detection pass for
+	 * the player.
+	 */
+	public void submitTasks(IslandData data, ServerPlayer player, List<? extends Task> tasks) {
+		withDetectionContext(player, ItemStack.EMPTY, 0L, ctx -> {
+			for (Task task : tasks) {
+				// an earlier submission in this pass may have completed the task
+				if (!data.isCompleted(task) && data.canStartTasks(task.getQuest())) {
+					task.submitTask(data, ctx);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Make an edit to an object and replicate it to clients. Only the top-level keys of the object's data which the
+	 * edit actually changed are sent, and only the caches which those keys can affect are cleared.
+	 * <p>
+	 * Players in editing mode get the change straight away; everyone else gets the edits made during the tick as one
+	 * message per object at the end of it, see {@link #flushEditBroadcasts()}.
+	 *
+	 * @param object the object being edited
+	 * @param edit code which makes the edit
+	 */
+	public void applyEdit(QuestObjectBase object, Runnable edit) {
+		applyEdit(object, null, edit);
+	}
+
+	/**
+	 * Make an edit to an object on behalf of a player; see {@link #applyEdit(QuestObjectBase, Runnable)}. Also increases
+	 * the object's version, see {@link QuestEditSession}.
+	 *
+	 * @param object the object being edited
+	 * @param editor the player making the edit, or null if it isn't made by a player
+	 * @param edit code which makes the edit
+	 */
+	public void applyEdit(QuestObjectBase object, @Nullable UUID editor, Runnable edit) {
+		CompoundTag before = new CompoundTag();
+		object.writeData(before);
+		edit.run();
+		CompoundTag after = new CompoundTag();
+		object.writeData(after);
+
+		ObjectEditDelta delta = ObjectEditDelta.between(object.id, before, after);
+		if (delta.isEmpty()) {
+			return;
+		}
+
+		Set<String> changedKeys = delta.changedKeys();
+		objectEdited(object, changedKeys);
+		markDirty(object);
+		int version = editSession.recordChange(object.id, editor);
+
+		EditObjectResponseMessage message = new EditObjectResponseMessage(delta, version);
+		for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+			if (isEditing(player)) {
+				QuestBookTransfers.sendBookChange(player, message);
+			}
+		}
+
+		Set<String> pending = pendingEditBroadcasts.get(object.id);
+		if (pending == null) {
+			pending = new HashSet<>();
+			pendingEditBroadcasts.put(object.id, pending);
+		}
+		pending.addAll(changedKeys);
+	}
+
+	private void objectEdited(QuestObjectBase object, Set<String> changedKeys) {
+		clearEncodedBook();
+
+		if (object instanceof Task || object instanceof Reward) {
+			// the quest and chapter cache state derived from their tasks and rewards; clearing the chapter's caches
+			// clears those of its quests and their tasks and rewards too
+			Quest quest = object instanceof Task task ? task.getQuest() : ((Reward) object).getQuest();
+			quest.getChapter().clearCachedData();
+			if (object instanceof Task) {
+				clearCachedTaskLists();
+			}
+			clearCachedProgress();
+		} else if ((object instanceof Quest || object instanceof Chapter || object instanceof ChapterGroup) && COSMETIC_KEYS.containsAll(changedKeys)) {
+			object.clearCachedData();
+		} else {
+			clearCachedData();
+		}
+	}
+
+	private boolean isEditing(ServerPlayer player) {
+		IslandData data = getOrCreateIslandData(player);
+		return data != null && data.getCanEdit(player);
+	}
+
+	/**
+	 * Send coalesced object edits to the players who aren't in editing mode, with the values the edited keys have
+	 * now; so however many edits were made to an object during the tick (e.g. by a config screen being saved), only
+	 * its latest state is sent.
+	 */
+	public void flushEditBroadcasts() {
+		if (pendingEditBroadcasts.isEmpty()) {
+			return;
 		}
+
+		List<ServerPlayer> recipients = new ArrayList<>();
+		for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+			if (!isEditing(player)) {
+				recipients.add(player);
+			}
+		}
+
+		if (!recipients.isEmpty()) {
+			for (Long2ObjectMap.Entry<Set<String>> entry : pendingEditBroadcasts.long2ObjectEntrySet()) {
+				QuestObjectBase object = getBase(entry.getLongKey());
+				if (object != null) {
+					CompoundTag current = new CompoundTag();
+					object.writeData(current);
+					ObjectEditDelta delta = ObjectEditDelta.ofKeys(object.id, current, entry.getValue());
+					QuestBookTransfers.sendBookChange(recipients, new EditObjectResponseMessage(delta, getObjectVersion(object.id)));
+				}
+			}
+		}
+
+		pendingEditBroadcasts.clear();
+	}
+
+	public void playerOnline(ServerPlayer player) {
+		islandDataMap.values().forEach(data -> data.onPlayerOnline(player));
+	}
+
+	public void playerOffline(ServerPlayer player) {
+		islandDataMap.values().forEach(data -> data.onPlayerOffline(player.getUUID()));
 	}
 
 	@Override
@@ -169,7 +714,7 @@ public class ServerQuestFile extends BaseQuestFile {
 		if (super.moveChapterGroup(id, movingUp)) {
 			markDirty();
 			clearCachedData();
-			new MoveChapterGroupResponseMessage(id, movingUp).sendToAll(server);
+			QuestBookTransfers.sendBookChange(server, new MoveChapterGroupResponseMessage(id, movingUp));
 			return true;
 		}
 		return false;
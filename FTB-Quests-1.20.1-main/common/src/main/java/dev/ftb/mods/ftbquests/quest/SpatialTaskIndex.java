@@ -0,0 +1,106 @@
+package dev.ftb.mods.ftbquests.quest;
+
+import dev.ftb.mods.ftbquests.quest.task.LocationTask;
+import dev.ftb.mods.ftbquests.quest.task.StructureTask;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-dimension grid of location task areas, with one cell per chunk column, so that a player only needs to be
+ * tested against the areas overlapping the chunk they're in. Structure tasks can't be placed in advance, but are
+ * held here too since they're checked the same way; see {@link StructureTask#getPieceBoxes}.
+ * <p>
+ * Part of the {@link TaskDispatchIndex}, so it's rebuilt whenever that is.
+ */
+public final class SpatialTaskIndex {
+	// areas spanning more chunks than this are checked from every cell rather than being added to each one
+	private static final int MAX_CELLS_PER_AREA = 256;
+
+	private final Map<ResourceKey<Level>, Grid> byDimension = new HashMap<>();
+	private final Grid anyDimension = new Grid();
+	private final List<StructureTask> structureTasks;
+
+	SpatialTaskIndex(List<LocationTask> locationTasks, List<StructureTask> structureTasks) {
+		for (LocationTask task : locationTasks) {
+			Grid grid = task.ignoresDimension() ? anyDimension : byDimension.computeIfAbsent(task.getDimension(), k -> new Grid());
+			grid.add(task);
+		}
+
+		this.structureTasks = List.copyOf(structureTasks);
+	}
+
+	public boolean isEmpty() {
+		return byDimension.isEmpty() && anyDimension.isEmpty() && structureTasks.isEmpty();
+	}
+
+	/**
+	 * Get the location tasks whose area overlaps the given chunk.
+	 *
+	 * @param dimension the dimension
+	 * @param chunkPos the chunk position, as a packed long
+	 * @return the candidate tasks, which still need their exact area checking
+	 */
+	public List<LocationTask> getLocationTasks(ResourceKey<Level> dimension, long chunkPos) {
+		Grid grid = byDimension.get(dimension);
+
+		List<LocationTask> res = new ArrayList<>();
+		if (grid != null) {
+			grid.collect(chunkPos, res);
+		}
+		anyDimension.collect(chunkPos, res);
+		return res.isEmpty() ? List.of() : res;
+	}
+
+	public List<StructureTask> getStructureTasks() {
+		return structureTasks;
+	}
+
+	private static class Grid {
+		private final Long2ObjectMap<List<LocationTask>> cells = new Long2ObjectOpenHashMap<>();
+		private final List<LocationTask> largeAreas = new ArrayList<>();
+
+		private void add(LocationTask task) {
+			int minX = task.getMinX() >> 4;
+			int minZ = task.getMinZ() >> 4;
+			long maxX = task.getMaxX() >> 4;
+			long maxZ = task.getMaxZ() >> 4;
+
+			if ((maxX - minX + 1L) * (maxZ - minZ + 1L) > MAX_CELLS_PER_AREA) {
+				largeAreas.add(task);
+				return;
+			}
+
+			for (int cx = minX; cx <= maxX; cx++) {
+				for (int cz = minZ; cz <= maxZ; cz++) {
+					long key = ChunkPos.asLong(cx, cz);
+					List<LocationTask> list = cells.get(key);
+					if (list == null) {
+						list = new ArrayList<>();
+						cells.put(key, list);
+					}
+					list.add(task);
+				}
+			}
+		}
+
+		private boolean isEmpty() {
+			return cells.isEmpty() && largeAreas.isEmpty();
+		}
+
+		private void collect(long chunkPos, List<LocationTask> res) {
+			List<LocationTask> inCell = cells.get(chunkPos);
+			if (inCell != null) {
+				res.addAll(inCell);
+			}
+			res.addAll(largeAreas);
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package dev.ftb.mods.ftbquests.quest;
+
+import dev.ftb.mods.ftbquests.integration.item_filtering.ItemMatchingSystem;
+import dev.ftb.mods.ftbquests.quest.task.AdvancementTask;
+import dev.ftb.mods.ftbquests.quest.task.DimensionTask;
+import dev.ftb.mods.ftbquests.quest.task.ItemTask;
+import dev.ftb.mods.ftbquests.quest.task.KillTask;
+import dev.ftb.mods.ftbquests.quest.task.LocationTask;
+import dev.ftb.mods.ftbquests.quest.task.StatTask;
+import dev.ftb.mods.ftbquests.quest.task.StructureTask;
+import dev.ftb.mods.ftbquests.quest.task.Task;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+
+import java.util.*;
+
+/**
+ * Lookup tables from game event keys (entity type, dimension, crafted or picked-up item) to the tasks which could possibly react
+ * to that event, so event handlers only touch candidate tasks rather than scanning every task in the file. Also holds
+ * the tasks which are polled on player tick, bucketed by their polling period.
+ * <p>
+ * Stat and advancement tasks are indexed by stat and advancement ID instead of being polled; their progress is pushed
+ * by {@link dev.ftb.mods.ftbquests.util.StatAndAdvancementListener}. Likewise, location and structure tasks are held in
+ * a {@link SpatialTaskIndex} and only checked when a player moves (see
+ * {@link dev.ftb.mods.ftbquests.util.PlayerLocationTracker}).
+ * <p>
+ * Built on demand from {@link ServerQuestFile#getTaskDispatchIndex()}, and discarded whenever the file's cached data
+ * is cleared (which happens on reload and after any quest edit).
+ */
+public final class TaskDispatchIndex {
+	private final Map<ResourceLocation, List<KillTask>> killTasks = new HashMap<>();
+	private final Map<ResourceKey<Level>, List<DimensionTask>> dimensionTasks = new HashMap<>();
+	private final Map<Item, List<Task>> craftingTasks = new IdentityHashMap<>();
+	private final List<Task> craftingFilterTasks = new ArrayList<>();
+	private final Map<Item, List<Task>> submitTasks = new IdentityHashMap<>();
+	private final List<ItemTask> submitFilterTasks = new ArrayList<>();
+	private final List<Task> otherSubmitTasks = new ArrayList<>();
+	private final List<AutoSubmitBucket> autoSubmitBuckets = new ArrayList<>();
+	private final Map<ResourceLocation, List<StatTask>> statTasks = new HashMap<>();
+	private final Map<ResourceLocation, List<AdvancementTask>> advancementTasks = new HashMap<>();
+	private final List<Task> pushTasks = new ArrayList<>();
+	private final SpatialTaskIndex spatialIndex;
+
+	TaskDispatchIndex(BaseQuestFile file) {
+		SortedMap<Integer, List<Task>> byPeriod = new TreeMap<>();
+		List<LocationTask> locationTasks = new ArrayList<>();
+		List<StructureTask> structureTasks = new ArrayList<>();
+
+		for (Task task : file.getAllTasks()) {
+			if (task.isPushDriven()) {
+				pushTasks.add(task);
+			}
+
+			if (task instanceof StatTask statTask) {
+				ResourceLocation statId = statTask.getResolvedStat();
+				if (statId != null) {
+					statTasks.computeIfAbsent(statId, k -> new ArrayList<>()).add(statTask);
+				}
+				continue;
+			} else if (task instanceof AdvancementTask advancementTask) {
+				advancementTasks.computeIfAbsent(advancementTask.getAdvancement(), k -> new ArrayList<>()).add(advancementTask);
+				continue;
+			} else if (task instanceof LocationTask locationTask) {
+				locationTasks.add(locationTask);
+				continue;
+			} else if (task instanceof StructureTask structureTask) {
+				structureTasks.add(structureTask);
+				continue;
+			}
+
+			int period = task.autoSubmitOnPlayerTick();
+			if (period > 0) {
+				byPeriod.computeIfAbsent(period, k -> new ArrayList<>()).add(task);
+			}
+
+			if (task.submitItemsOnInventoryChange()) {
+				if (task instanceof ItemTask itemTask) {
+					if (matchesAnyItem(itemTask)) {
+						submitFilterTasks.add(itemTask);
+					} else {
+						submitTasks.computeIfAbsent(itemTask.getItemStack().getItem(), k -> new ArrayList<>()).add(itemTask);
+					}
+				} else {
+					// no way to tell which items other task types care about
+					otherSubmitTasks.add(task);
+				}
+			}
+
+			if (task instanceof KillTask killTask) {
+				killTasks.computeIfAbsent(killTask.getEntity(), k -> new ArrayList<>()).add(killTask);
+			} else if (task instanceof DimensionTask dimensionTask) {
+				dimensionTasks.computeIfAbsent(dimensionTask.getDimension(), k -> new ArrayList<>()).add(dimensionTask);
+			} else if (task instanceof ItemTask itemTask && itemTask.isOnlyFromCrafting()) {
+				if (matchesAnyItem(itemTask)) {
+					// these have to be checked for every crafted item
+					craftingFilterTasks.add(itemTask);
+				} else {
+					craftingTasks.computeIfAbsent(itemTask.getItemStack().getItem(), k -> new ArrayList<>()).add(itemTask);
+				}
+			}
+		}
+
+		byPeriod.forEach((period, tasks) -> autoSubmitBuckets.add(new AutoSubmitBucket(period, List.copyOf(tasks))));
+		spatialIndex = new SpatialTaskIndex(locationTasks, structureTasks);
+	}
+
+	/**
+	 * Check if an item task can't be indexed by a single item: either it uses an item filter, or it has no item set and
+	 * so matches any item.
+	 */
+	private static boolean matchesAnyItem(ItemTask task) {
+		ItemStack stack = task.getItemStack();
+		return stack.isEmpty() || ItemMatchingSystem.INSTANCE.isItemFilter(stack);
+	}
+
+	public List<KillTask> getKillTasks(ResourceLocation entityType) {
+		return killTasks.getOrDefault(entityType, List.of());
+	}
+
+	public List<DimensionTask> getDimensionTasks(ResourceKey<Level> dimension) {
+		return dimensionTasks.getOrDefault(dimension, List.of());
+	}
+
+	public boolean hasKillTasks() {
+		return !killTasks.isEmpty();
+	}
+
+	/**
+	 * Get the crafting-only item tasks which could match the given crafted item: those for that exact item, plus any
+	 * tasks using an item filter or with no item set.
+	 */
+	public List<Task> getCraftingTasks(Item item) {
+		List<Task> forItem = craftingTasks.getOrDefault(item, List.of());
+		if (craftingFilterTasks.isEmpty()) {
+			return forItem;
+		} else if (forItem.isEmpty()) {
+			return craftingFilterTasks;
+		}
+
+		List<Task> res = new ArrayList<>(forItem.size() + craftingFilterTasks.size());
+		res.addAll(forItem);
+		res.addAll(craftingFilterTasks);
+		return res;
+	}
+
+	/**
+	 * Get the tasks which need re-checking after some items in a player's inventory have changed: item tasks for
+	 * exactly those items, item tasks whose filter (e.g. an item tag filter) matches one of the stacks, and any
+	 * non-item tasks which check the inventory.
+	 *
+	 * @param changedStacks the new contents of the changed inventory slots
+	 * @return the candidate tasks, without duplicates
+	 */
+	public Collection<Task> getSubmitTasks(Collection<ItemStack> changedStacks) {
+		Set<Task> res = new LinkedHashSet<>(otherSubmitTasks);
+
+		for (ItemStack stack : changedStacks) {
+			if (!stack.isEmpty()) {
+				res.addAll(submitTasks.getOrDefault(stack.getItem(), List.of()));
+
+				for (ItemTask task : submitFilterTasks) {
+					if (task.test(stack)) {
+						res.add(task);
+					}
+				}
+			}
+		}
+
+		return res;
+	}
+
+	public List<StatTask> getStatTasks(ResourceLocation statId) {
+		return statTasks.getOrDefault(statId, List.of());
+	}
+
+	public List<AdvancementTask> getAdvancementTasks(ResourceLocation advancementId) {
+		return advancementTasks.getOrDefault(advancementId, List.of());
+	}
+
+	public SpatialTaskIndex getSpatialIndex() {
+		return spatialIndex;
+	}
+
+	/**
+	 * @return all the {@link Task#isPushDriven() push-driven} tasks, which need checking when they may have become
+	 * startable
+	 */
+	public List<Task> getPushTasks() {
+		return pushTasks;
+	}
+
+	/**
+	 * @return tick-polled tasks, grouped by {@link Task#autoSubmitOnPlayerTick()} period, shortest period first
+	 */
+	public List<AutoSubmitBucket> getAutoSubmitBuckets() {
+		return autoSubmitBuckets;
+	}
+
+	/**
+	 * All the tasks which are polled every {@code period} ticks.
+	 */
+	public record AutoSubmitBucket(int period, List<Task> tasks) {
+		/**
+		 * Check if this bucket is due for the given player. Players are staggered by their entity ID, so that the
+		 * checks for tasks with long periods are spread across ticks instead of all landing on the same one.
+		 */
+		public boolean isDue(long gameTime, int playerOffset) {
+			return period == 1 || Math.floorMod(gameTime + playerOffset, period) == 0;
+		}
+	}
+}
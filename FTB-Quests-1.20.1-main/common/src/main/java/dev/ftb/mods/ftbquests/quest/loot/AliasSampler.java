@@ -0,0 +1,79 @@
+package dev.ftb.mods.ftbquests.quest.loot;
+
+import net.minecraft.util.RandomSource;
+
+/**
+ * Walker/Vose alias table over a fixed set of weighted outcomes, giving O(1) weighted random draws after an O(n)
+ * setup. Outcomes are arbitrary ints supplied by the caller.
+ */
+final class AliasSampler {
+	private final float[] prob;
+	private final int[] alias;
+	private final int[] outcomes;
+
+	/**
+	 * @param weights the weight of each outcome; all must be positive
+	 * @param outcomes the outcome values, parallel to {@code weights}
+	 */
+	AliasSampler(float[] weights, int[] outcomes) {
+		int n = weights.length;
+		this.prob = new float[n];
+		this.alias = new int[n];
+		this.outcomes = outcomes.clone();
+
+		double total = 0D;
+		for (float w : weights) {
+			total += w;
+		}
+
+		double[] scaled = new double[n];
+		int[] small = new int[n];
+		int[] large = new int[n];
+		int nSmall = 0, nLarge = 0;
+
+		for (int i = 0; i < n; i++) {
+			scaled[i] = weights[i] * n / total;
+			if (scaled[i] < 1D) {
+				small[nSmall++] = i;
+			} else {
+				large[nLarge++] = i;
+			}
+		}
+
+		while (nSmall > 0 && nLarge > 0) {
+			int s = small[--nSmall];
+			int l = large[--nLarge];
+
+			prob[s] = (float) scaled[s];
+			alias[s] = l;
+
+			scaled[l] = scaled[l] + scaled[s] - 1D;
+			if (scaled[l] < 1D) {
+				small[nSmall++] = l;
+			} else {
+				large[nLarge++] = l;
+			}
+		}
+
+		// anything left over is (within rounding error) exactly 1
+		while (nLarge > 0) {
+			int l = large[--nLarge];
+			prob[l] = 1f;
+			alias[l] = l;
+		}
+		while (nSmall > 0) {
+			int s = small[--nSmall];
+			prob[s] = 1f;
+			alias[s] = s;
+		}
+	}
+
+	boolean isEmpty() {
+		return outcomes.length == 0;
+	}
+
+	int sample(RandomSource random) {
+		int i = random.nextInt(outcomes.length);
+		return random.nextFloat() < prob[i] ? outcomes[i] : outcomes[alias[i]];
+	}
+}
@@ -22,6 +22,8 @@ import dev.ftb.mods.ftbquests.quest.reward.ItemReward;
 import dev.ftb.mods.ftbquests.quest.reward.Reward;
 import dev.ftb.mods.ftbquests.quest.reward.RewardType;
 import dev.ftb.mods.ftbquests.quest.reward.RewardTypes;
+import it.unimi.dsi.fastutil.objects.Reference2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.ChatFormatting;
@@ -49,6 +51,8 @@ public final class RewardTable extends QuestObjectBase {
 	private LootCrate lootCrate;
 	private ResourceLocation lootTableId;
 	private String filename;
+	private Sampling sampling;
+	private Sampling samplingWithEmpty;
 
 	public RewardTable(long id, BaseQuestFile file) {
 		this(id, file, "");
@@ -102,38 +106,80 @@ public final class RewardTable extends QuestObjectBase {
 	}
 
 	public float getTotalWeight(boolean includeEmpty) {
-		float initial = includeEmpty ? emptyWeight : 0f;
-		return weightedRewards.stream().map(WeightedReward::getWeight).reduce(initial, Float::sum);
+		float total = includeEmpty ? emptyWeight : 0f;
+		for (WeightedReward reward : weightedRewards) {
+			total += reward.getWeight();
+		}
+		return total;
 	}
 
 	public Collection<WeightedReward> generateWeightedRandomRewards(RandomSource random, int nAttempts, boolean includeEmpty) {
-		float total = getTotalWeight(includeEmpty);
-		if (total <= 0f) return List.of();
+		Sampling s = getSampling(includeEmpty);
+		if (s.sampler == null) return List.of();
+
+		nAttempts *= lootSize;
 
 		// rewards with a weight of 0 are auto-granted
-		List<WeightedReward> res  = weightedRewards.stream()
-				.filter(reward -> reward.getWeight() == 0f)
-				.collect(Collectors.toCollection(ArrayList::new));
+		List<WeightedReward> res = new ArrayList<>(s.autoGranted.size() + nAttempts);
+		res.addAll(s.autoGranted);
+
+		for (int i = 0; i < nAttempts; i++) {
+			int idx = s.sampler.sample(random);
+			if (idx >= 0) {
+				res.add(weightedRewards.get(idx));
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * Bulk version of {@link #generateWeightedRandomRewards(RandomSource, int, boolean)}: the same draws, but with
+	 * repeated results merged into a count per reward, so callers opening many crates at once can handle each
+	 * distinct reward once.
+	 *
+	 * @return map of reward to the number of times it was drawn, in first-drawn order
+	 */
+	public Reference2IntMap<WeightedReward> generateWeightedRandomRewardCounts(RandomSource random, int nAttempts, boolean includeEmpty) {
+		Reference2IntMap<WeightedReward> res = new Reference2IntLinkedOpenHashMap<>();
+		Sampling s = getSampling(includeEmpty);
+		if (s.sampler == null) return res;
+
+		s.autoGranted.forEach(reward -> res.put(reward, 1));
 
 		nAttempts *= lootSize;
 
 		for (int i = 0; i < nAttempts; i++) {
-			float threshold = random.nextFloat() * total;
-			float currentWeight = includeEmpty ? emptyWeight : 0f;
-
-			if (currentWeight < threshold) {
-				for (WeightedReward reward : weightedRewards) {
-					currentWeight += reward.getWeight();
-					if (currentWeight >= threshold) {
-						res.add(reward);
-						break;
-					}
-				}
+			int idx = s.sampler.sample(random);
+			if (idx >= 0) {
+				res.mergeInt(weightedRewards.get(idx), 1, Integer::sum);
 			}
 		}
 		return res;
 	}
 
+	private Sampling getSampling(boolean includeEmpty) {
+		if (includeEmpty) {
+			if (samplingWithEmpty == null) {
+				samplingWithEmpty = new Sampling(weightedRewards, emptyWeight);
+			}
+			return samplingWithEmpty;
+		} else {
+			if (sampling == null) {
+				sampling = new Sampling(weightedRewards, 0f);
+			}
+			return sampling;
+		}
+	}
+
+	/**
+	 * Drop the cached alias tables; they're rebuilt on the next draw. Must be called whenever rewards or weights
+	 * change.
+	 */
+	public void invalidateSampling() {
+		sampling = null;
+		samplingWithEmpty = null;
+	}
+
 	@Override
 	public void writeData(CompoundTag nbt) {
 		super.writeData(nbt);
@@ -213,6 +259,7 @@ public final class RewardTable extends QuestObjectBase {
 		}
 
 		lootTableId = nbt.contains("loot_table_id") ? new ResourceLocation(nbt.getString("loot_table_id")) : null;
+		invalidateSampling();
 	}
 
 	@Override
@@ -274,13 +321,17 @@ public final class RewardTable extends QuestObjectBase {
 		}
 
 		lootTableId = hasLootTableId ? buffer.readResourceLocation() : null;
+		invalidateSampling();
 	}
 
 	@Override
 	@Environment(EnvType.CLIENT)
 	public void fillConfigGroup(ConfigGroup config) {
 		super.fillConfigGroup(config);
-		config.addDouble("empty_weight", emptyWeight, v -> emptyWeight = v.floatValue(), 0, 0, Integer.MAX_VALUE);
+		config.addDouble("empty_weight", emptyWeight, v -> {
+			emptyWeight = v.floatValue();
+			invalidateSampling();
+		}, 0, 0, Integer.MAX_VALUE);
 		config.addInt("loot_size", lootSize, v -> lootSize = v, 1, 1, Integer.MAX_VALUE);
 		config.addBool("hide_tooltip", hideTooltip, v -> hideTooltip = v, false);
 		config.addBool("use_title", useTitle, v -> useTitle = v, false);
@@ -296,6 +347,7 @@ public final class RewardTable extends QuestObjectBase {
 	public void clearCachedData() {
 		super.clearCachedData();
 
+		invalidateSampling();
 		weightedRewards.forEach(reward -> reward.getReward().clearCachedData());
 	}
 
@@ -423,10 +475,12 @@ public final class RewardTable extends QuestObjectBase {
 
 	public void addReward(WeightedReward weightedReward) {
 		weightedRewards.add(weightedReward);
+		invalidateSampling();
 	}
 
 	public void removeReward(WeightedReward weightedReward) {
 		weightedRewards.remove(weightedReward);
+		invalidateSampling();
 	}
 
 	public WeightedReward makeWeightedItemReward(ItemStack stack, float weight) {
@@ -445,4 +499,43 @@ public final class RewardTable extends QuestObjectBase {
 	public boolean shouldShowTooltip() {
 		return !hideTooltip;
 	}
+
+	/**
+	 * Cached draw state: the auto-granted (zero weight) rewards, and an alias table over the weighted rewards (plus
+	 * the "nothing" outcome, represented as -1, if empty weight is included).
+	 */
+	private static final class Sampling {
+		private final List<WeightedReward> autoGranted;
+		@Nullable
+		private final AliasSampler sampler;
+
+		private Sampling(List<WeightedReward> rewards, float emptyWeight) {
+			List<WeightedReward> zero = new ArrayList<>();
+			float[] weights = new float[rewards.size() + 1];
+			int[] outcomes = new int[rewards.size() + 1];
+			int n = 0;
+			float total = 0f;
+
+			if (emptyWeight > 0f) {
+				weights[n] = emptyWeight;
+				outcomes[n++] = -1;
+				total += emptyWeight;
+			}
+
+			for (int i = 0; i < rewards.size(); i++) {
+				float weight = rewards.get(i).getWeight();
+				if (weight > 0f) {
+					weights[n] = weight;
+					outcomes[n++] = i;
+					total += weight;
+				} else {
+					zero.add(rewards.get(i));
+				}
+			}
+
+			// with no positive weights at all, nothing is granted (not even the zero-weight rewards)
+			autoGranted = total > 0f ? List.copyOf(zero) : List.of();
+			sampler = total > 0f ? new AliasSampler(Arrays.copyOf(weights, n), Arrays.copyOf(outcomes, n)) : null;
+		}
+	}
 }
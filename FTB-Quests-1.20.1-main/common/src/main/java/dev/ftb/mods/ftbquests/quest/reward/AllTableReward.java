@@ -16,12 +16,12 @@ public class AllTableReward extends LootReward {
     }
 
     @Override
-    public void claim(ServerPlayer player, boolean notify) {
+    public void claim(ServerPlayer player, boolean notify, RewardClaimBatch batch) {
         RewardTable table = getTable();
 
         if (table != null) {
             for (WeightedReward wr : table.getWeightedRewards()) {
-                wr.getReward().claim(player, notify);
+                wr.getReward().claim(player, notify, batch);
             }
         }
     }
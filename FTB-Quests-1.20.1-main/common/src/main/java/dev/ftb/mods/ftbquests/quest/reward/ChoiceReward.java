@@ -29,6 +29,11 @@ public class ChoiceReward extends RandomReward {
 	public void claim(ServerPlayer player, boolean notify) {
 	}
 
+	@Override
+	public void claim(ServerPlayer player, boolean notify, RewardClaimBatch batch) {
+		// the player picks the reward to get, see ClaimChoiceRewardMessage
+	}
+
 	@Override
 	@Environment(EnvType.CLIENT)
 	public void addMouseOverText(TooltipList list) {
@@ -6,6 +6,7 @@ import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
@@ -14,7 +15,6 @@ import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.server.level.ServerPlayer;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -27,6 +27,7 @@ public class CommandReward extends Reward {
 	private String command;
 	private boolean elevatePerms;
 	private boolean silent;
+	private CommandTemplate template;
 
 	public CommandReward(long id, Quest quest) {
 		super(id, quest);
@@ -52,6 +53,7 @@ public class CommandReward extends Reward {
 	public void readData(CompoundTag nbt) {
 		super.readData(nbt);
 		command = nbt.getString("command");
+		template = null;
 		elevatePerms = nbt.getBoolean("elevate_perms");
 		silent = nbt.getBoolean("silent");
 	}
@@ -68,6 +70,7 @@ public class CommandReward extends Reward {
 	public void readNetData(FriendlyByteBuf buffer) {
 		super.readNetData(buffer);
 		command = buffer.readUtf(Short.MAX_VALUE);
+		template = null;
 		elevatePerms = buffer.readBoolean();
 		silent = buffer.readBoolean();
 	}
@@ -76,26 +79,20 @@ public class CommandReward extends Reward {
 	@Environment(EnvType.CLIENT)
 	public void fillConfigGroup(ConfigGroup config) {
 		super.fillConfigGroup(config);
-		config.addString("command", command, v -> command = v, DEFAULT_COMMAND).setNameKey("ftbquests.reward.ftbquests.command");
+		config.addString("command", command, v -> {
+			command = v;
+			template = null;
+		}, DEFAULT_COMMAND).setNameKey("ftbquests.reward.ftbquests.command");
 		config.addBool("elevate", elevatePerms, v -> elevatePerms = v, false);
 		config.addBool("silent", silent, v -> silent = v, false);
 	}
 
 	@Override
 	public void claim(ServerPlayer player, boolean notify) {
-		Map<String, Object> overrides = new HashMap<>();
-		overrides.put("p", player.getGameProfile().getName());
-
-		BlockPos pos = player.blockPosition();
-		overrides.put("x", pos.getX());
-		overrides.put("y", pos.getY());
-		overrides.put("z", pos.getZ());
-
-		if (getQuestChapter() != null) {
-			overrides.put("chapter", getQuestChapter());
+		if (template == null) {
+			template = CommandTemplate.compile(command);
 		}
 
-		overrides.put("quest", quest);
 		// FTBTeamsAPI.api().getManager().getTeamForPlayer(player).ifPresent(team -> {
 		// 	overrides.put("team", team.getName().getString());
 		// 	overrides.put("team_id", team.getShortName());
@@ -104,13 +101,34 @@ public class CommandReward extends Reward {
 		// 	overrides.put("online_member_count", team.getOnlineMembers().size());
 		// });
 
-		String cmd = format(command.trim(), overrides);
-
 		CommandSourceStack source = player.createCommandSourceStack();
 		if (elevatePerms) source = source.withPermission(2);
 		if (silent) source = source.withSuppressedOutput();
-		
-		player.server.getCommands().performPrefixedCommand(source, cmd);
+
+		Commands commands = player.server.getCommands();
+		if (template.hasPlaceholders()) {
+			BlockPos pos = player.blockPosition();
+			String cmd = template.bind(key -> switch (key) {
+				case "p" -> player.getGameProfile().getName();
+				case "x" -> pos.getX();
+				case "y" -> pos.getY();
+				case "z" -> pos.getZ();
+				case "chapter" -> getQuestChapter();
+				case "quest" -> quest;
+				default -> null;
+			});
+			commands.performPrefixedCommand(source, cmd);
+		} else if (elevatePerms) {
+			commands.performCommand(template.getParse(commands.getDispatcher(), source), command.trim());
+		} else {
+			commands.performPrefixedCommand(source, command.trim());
+		}
+	}
+
+	@Override
+	public void clearCachedData() {
+		super.clearCachedData();
+		template = null;
 	}
 
 	@Override
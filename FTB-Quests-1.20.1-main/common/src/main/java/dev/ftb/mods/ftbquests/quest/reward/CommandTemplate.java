@@ -0,0 +1,106 @@
+package dev.ftb.mods.ftbquests.quest.reward;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import net.minecraft.commands.CommandSourceStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+
+/**
+ * A {@link CommandReward} command, split once into literal text and placeholder slots so that claiming only has to
+ * bind values. Commands with no placeholders which are run with elevated permissions are also parsed by Brigadier only
+ * once, and the parse is re-used with each claiming player's source. Other commands are parsed on every claim, since
+ * command node requirements are checked at parse time and can depend on the player running the command.
+ */
+final class CommandTemplate {
+	private static final Set<String> KNOWN_KEYS = Set.of("p", "x", "y", "z", "chapter", "quest");
+
+	private final String[] literals;
+	private final String[] keys;
+	private ParseResults<CommandSourceStack> parse = null;
+	private CommandDispatcher<CommandSourceStack> parsedWith = null;
+
+	private CommandTemplate(String[] literals, String[] keys) {
+		this.literals = literals;
+		this.keys = keys;
+	}
+
+	static CommandTemplate compile(String command) {
+		String template = command.trim();
+		List<String> literals = new ArrayList<>();
+		List<String> keys = new ArrayList<>();
+
+		Matcher matcher = CommandReward.PATTERN.matcher(template);
+		StringBuilder literal = new StringBuilder();
+		int last = 0;
+
+		while (matcher.find()) {
+			String key = matcher.group(1);
+			if (KNOWN_KEYS.contains(key)) {
+				literal.append(template, last, matcher.start());
+				literals.add(literal.toString());
+				keys.add(key);
+				literal.setLength(0);
+				last = matcher.end();
+			}
+		}
+
+		literal.append(template, last, template.length());
+		literals.add(literal.toString());
+
+		return new CommandTemplate(literals.toArray(new String[0]), keys.toArray(new String[0]));
+	}
+
+	boolean hasPlaceholders() {
+		return keys.length > 0;
+	}
+
+	/**
+	 * Fill in the placeholders.
+	 *
+	 * @param values function giving the value for a placeholder key, or null to leave the placeholder as-is
+	 * @return the command string
+	 */
+	String bind(Function<String, Object> values) {
+		if (keys.length == 0) {
+			return literals[0];
+		}
+
+		StringBuilder sb = new StringBuilder(literals[0]);
+		for (int i = 0; i < keys.length; i++) {
+			Object value = values.apply(keys[i]);
+			if (value == null) {
+				sb.append('{').append(keys[i]).append('}');
+			} else {
+				sb.append(value);
+			}
+			sb.append(literals[i + 1]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Get a parse of this (placeholder-free) command for the given source, re-using an earlier parse made with the
+	 * same dispatcher where possible. Only use this for sources with a fixed permission level, so that the parse
+	 * doesn't depend on who's claiming the reward.
+	 */
+	ParseResults<CommandSourceStack> getParse(CommandDispatcher<CommandSourceStack> dispatcher, CommandSourceStack source) {
+		if (parsedWith != dispatcher) {
+			// commands were reloaded
+			parse = null;
+			parsedWith = dispatcher;
+		}
+
+		if (parse == null) {
+			String cmd = literals[0].startsWith("/") ? literals[0].substring(1) : literals[0];
+			parse = dispatcher.parse(cmd, source);
+		}
+
+		// withSource() changes the builder it's called on, so the cached parse has to be copied first
+		return new ParseResults<>(parse.getContext().copy().withSource(source), parse.getReader(), parse.getExceptions());
+	}
+}
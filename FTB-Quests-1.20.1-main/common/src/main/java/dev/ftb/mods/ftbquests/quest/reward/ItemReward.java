@@ -8,6 +8,7 @@ import dev.ftb.mods.ftblibrary.ui.Widget;
 import dev.ftb.mods.ftblibrary.util.client.PositionedIngredient;
 import dev.ftb.mods.ftbquests.net.DisplayItemRewardToastMessage;
 import dev.ftb.mods.ftbquests.net.FTBQuestsNetHandler;
+import dev.ftb.mods.ftbquests.net.MessageBatcher;
 import dev.ftb.mods.ftbquests.quest.Quest;
 import dev.ftb.mods.ftbquests.util.NBTUtils;
 import net.fabricmc.api.EnvType;
@@ -136,10 +137,19 @@ public class ItemReward extends Reward {
 		}
 
 		if (notify) {
-			new DisplayItemRewardToastMessage(item, size).sendTo(player);
+			MessageBatcher.queue(player, new DisplayItemRewardToastMessage(item, size));
 		}
 	}
 
+	@Override
+	public void claim(ServerPlayer player, boolean notify, RewardClaimBatch batch) {
+		if (onlyOne && (player.getInventory().contains(item) || batch.containsItem(item))) {
+			return;
+		}
+
+		batch.addItem(item, count + player.level().random.nextInt(randomBonus + 1));
+	}
+
 	@Override
 	public boolean automatedClaimPre(BlockEntity blockEntity, List<ItemStack> items, RandomSource random, UUID playerId, @Nullable ServerPlayer player) {
 		int size = count + random.nextInt(randomBonus + 1);
@@ -4,8 +4,6 @@ import dev.ftb.mods.ftblibrary.ui.Button;
 import dev.ftb.mods.ftblibrary.util.TooltipList;
 import dev.ftb.mods.ftbquests.client.gui.RewardNotificationsScreen;
 import dev.ftb.mods.ftbquests.quest.Quest;
-import dev.ftb.mods.ftbquests.quest.loot.RewardTable;
-import dev.ftb.mods.ftbquests.quest.loot.WeightedReward;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.server.level.ServerPlayer;
@@ -28,14 +26,8 @@ public class LootReward extends RandomReward {
 	}
 
 	@Override
-	public void claim(ServerPlayer player, boolean notify) {
-		RewardTable table = getTable();
-
-		if (table != null) {
-			for (WeightedReward wr : table.generateWeightedRandomRewards(player.getRandom(), 1, true)) {
-				wr.getReward().claim(player, notify);
-			}
-		}
+	protected boolean includeEmptyRolls() {
+		return true;
 	}
 
 	@Override
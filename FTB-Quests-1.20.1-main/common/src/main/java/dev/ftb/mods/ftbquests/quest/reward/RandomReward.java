@@ -123,14 +123,27 @@ public class RandomReward extends Reward {
 
 	@Override
 	public void claim(ServerPlayer player, boolean notify) {
+		RewardClaimBatch batch = new RewardClaimBatch();
+		claim(player, notify, batch);
+		batch.grant(player, notify);
+	}
+
+	@Override
+	public void claim(ServerPlayer player, boolean notify, RewardClaimBatch batch) {
 		RewardTable table = getTable();
 
 		if (table != null) {
-			for (WeightedReward wr : table.generateWeightedRandomRewards(player.getRandom(), 1, false)) {
-				wr.getReward().claim(player, notify);
+			for (WeightedReward wr : table.generateWeightedRandomRewards(player.getRandom(), 1, includeEmptyRolls())) {
+				wr.getReward().claim(player, notify, batch);
 			}
 		}
+	}
 
+	/**
+	 * @return true if the table's empty weight should be taken into account when rolling this reward
+	 */
+	protected boolean includeEmptyRolls() {
+		return false;
 	}
 
 	@Override
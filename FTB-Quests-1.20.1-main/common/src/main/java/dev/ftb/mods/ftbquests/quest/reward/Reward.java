@@ -135,6 +135,19 @@ public abstract class Reward extends QuestObjectBase {
 
 	public abstract void claim(ServerPlayer player, boolean notify);
 
+	/**
+	 * Called when this reward is claimed as part of a batch of rewards (e.g. "Claim All"). Rewards which give items
+	 * may add them to the batch instead of giving them directly, so that identical items from many rewards are merged
+	 * into as few inventory insertions and toasts as possible. Default behaviour is to claim the reward normally.
+	 *
+	 * @param player the player claiming the reward
+	 * @param notify true if the player should be notified
+	 * @param batch the batch to add any items to
+	 */
+	public void claim(ServerPlayer player, boolean notify, RewardClaimBatch batch) {
+		claim(player, notify);
+	}
+
 	/**
 	 * Called by the Loot Crate Opener when it's about to open a crate. Can be overridden to add any itemstacks the
 	 * crate would produce to the {@code items} list; items in this list will be stored in the loot crate opener.
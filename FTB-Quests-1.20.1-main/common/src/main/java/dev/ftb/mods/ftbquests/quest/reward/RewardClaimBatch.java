@@ -0,0 +1,72 @@
+package dev.ftb.mods.ftbquests.quest.reward;
+
+import dev.architectury.hooks.item.ItemStackHooks;
+import dev.ftb.mods.ftbquests.net.DisplayItemRewardToastMessage;
+import dev.ftb.mods.ftbquests.net.MessageBatcher;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the items granted by several rewards claimed in one go (e.g. "Claim All"), merging identical items so
+ * they're inserted into the player's inventory with as few stacks as possible, and with one toast per item type.
+ */
+public class RewardClaimBatch {
+	private final List<ItemStack> items = new ArrayList<>();
+
+	/**
+	 * Add some items to the batch.
+	 *
+	 * @param stack the item to add; its count is ignored
+	 * @param count the number of items
+	 */
+	public void addItem(ItemStack stack, int count) {
+		if (stack.isEmpty() || count <= 0) {
+			return;
+		}
+
+		for (ItemStack existing : items) {
+			if (ItemStack.isSameItemSameTags(existing, stack)) {
+				existing.grow(count);
+				return;
+			}
+		}
+
+		items.add(ItemStackHooks.copyWithCount(stack, count));
+	}
+
+	public boolean containsItem(ItemStack stack) {
+		return items.stream().anyMatch(existing -> ItemStack.isSameItemSameTags(existing, stack));
+	}
+
+	public boolean isEmpty() {
+		return items.isEmpty();
+	}
+
+	/**
+	 * Give all collected items to the player.
+	 *
+	 * @param player the player
+	 * @param notify true to display a reward toast for each item type
+	 */
+	public void grant(ServerPlayer player, boolean notify) {
+		for (ItemStack stack : items) {
+			int total = stack.getCount();
+			int size = total;
+
+			while (size > 0) {
+				int s = Math.min(size, stack.getMaxStackSize());
+				ItemStackHooks.giveItem(player, ItemStackHooks.copyWithCount(stack, s));
+				size -= s;
+			}
+
+			if (notify) {
+				MessageBatcher.queue(player, new DisplayItemRewardToastMessage(stack, total));
+			}
+		}
+
+		items.clear();
+	}
+}
@@ -106,9 +106,18 @@ public class AdvancementTask extends AbstractBooleanTask {
 		return super.getAltIcon();
 	}
 
+	public ResourceLocation getAdvancement() {
+		return advancement;
+	}
+
+	public String getCriterion() {
+		return criterion;
+	}
+
 	@Override
-	public int autoSubmitOnPlayerTick() {
-		return 5;
+	public boolean isPushDriven() {
+		// see StatAndAdvancementListener
+		return true;
 	}
 
 	@Override
@@ -0,0 +1,109 @@
+package dev.ftb.mods.ftbquests.quest.task;
+
+import dev.ftb.mods.ftbquests.util.PlayerInventoryIndex;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State for one pass of task detection for a player: who triggered it, what (if anything) was just crafted, and a
+ * per-pass cache of the player's inventory contents. Passed explicitly to
+ * {@link Task#submitTask(dev.ftb.mods.ftbquests.quest.IslandData, DetectionContext)} so that nested detection passes
+ * (e.g. a task completion triggering another inventory check) each get their own state instead of sharing static
+ * caches.
+ * <p>
+ * Contexts are pooled per thread; obtain one with {@link #obtain(ServerPlayer, ItemStack, long)} and hand it back
+ * with {@link #release()} when done. Normally {@link dev.ftb.mods.ftbquests.quest.ServerQuestFile#withDetectionContext}
+ * takes care of that.
+ */
+public final class DetectionContext {
+	private static final int MAX_POOL_SIZE = 8;
+	private static final ThreadLocal<Deque<DetectionContext>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
+	private final Map<Item, List<ItemStack>> stacksByItem = new IdentityHashMap<>();
+	private List<ItemStack> allStacks;
+	private ServerPlayer player;
+	private ItemStack craftedItem;
+	private long sourceTask;
+
+	private DetectionContext() {
+		craftedItem = ItemStack.EMPTY;
+	}
+
+	/**
+	 * @param player the player whose inventory and state is being checked
+	 * @param craftedItem the item just crafted or smelted, or {@code ItemStack.EMPTY}
+	 * @param sourceTask ID of the task which triggered this detection pass, or 0
+	 * @return a context, which should be {@link #release() released} after use
+	 */
+	public static DetectionContext obtain(ServerPlayer player, ItemStack craftedItem, long sourceTask) {
+		DetectionContext ctx = POOL.get().poll();
+		if (ctx == null) {
+			ctx = new DetectionContext();
+		}
+		ctx.player = player;
+		ctx.craftedItem = craftedItem;
+		ctx.sourceTask = sourceTask;
+		return ctx;
+	}
+
+	public void release() {
+		player = null;
+		craftedItem = ItemStack.EMPTY;
+		sourceTask = 0L;
+		invalidateInventory();
+
+		Deque<DetectionContext> pool = POOL.get();
+		if (pool.size() < MAX_POOL_SIZE) {
+			pool.push(this);
+		}
+	}
+
+	public ServerPlayer getPlayer() {
+		return player;
+	}
+
+	public ItemStack getCraftedItem() {
+		return craftedItem;
+	}
+
+	public long getSourceTask() {
+		return sourceTask;
+	}
+
+	/**
+	 * Get the stacks of the given item in the player's main inventory, cached for the lifetime of this context.
+	 *
+	 * @param item the item
+	 * @return the stacks (live references, don't modify)
+	 */
+	public List<ItemStack> getStacks(Item item) {
+		return stacksByItem.computeIfAbsent(item, k -> PlayerInventoryIndex.get(player).getStacks(player, k));
+	}
+
+	/**
+	 * Get all non-empty stacks in the player's main inventory, cached for the lifetime of this context.
+	 *
+	 * @return the stacks (live references, don't modify)
+	 */
+	public List<ItemStack> getAllNonEmptyStacks() {
+		if (allStacks == null) {
+			allStacks = PlayerInventoryIndex.get(player).getAllNonEmptyStacks(player);
+		}
+		return allStacks;
+	}
+
+	/**
+	 * Drop cached inventory contents; call this after adding or removing stacks from the player's inventory.
+	 */
+	public void invalidateInventory() {
+		stacksByItem.clear();
+		allStacks = null;
+	}
+}
@@ -32,6 +32,10 @@ public class DimensionTask extends AbstractBooleanTask {
 		return this;
 	}
 
+	public ResourceKey<Level> getDimension() {
+		return dimension;
+	}
+
 	@Override
 	public TaskType getType() {
 		return TaskTypes.DIMENSION;
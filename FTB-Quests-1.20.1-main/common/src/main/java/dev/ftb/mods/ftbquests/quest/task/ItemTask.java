@@ -19,7 +19,7 @@ import dev.ftb.mods.ftbquests.item.MissingItem;
 import dev.ftb.mods.ftbquests.net.FTBQuestsNetHandler;
 import dev.ftb.mods.ftbquests.quest.IslandData;
 import dev.ftb.mods.ftbquests.quest.Quest;
-import dev.ftb.mods.ftbquests.util.FTBQuestsInventoryListener;
+import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
 import dev.ftb.mods.ftbquests.util.NBTUtils;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -330,6 +330,14 @@ public class ItemTask extends Task implements Predicate<ItemStack> {
 
 	@Override
 	public void submitTask(IslandData islandData, ServerPlayer player, ItemStack craftedItem) {
+		ServerQuestFile.INSTANCE.withDetectionContext(player, craftedItem, 0L, ctx -> submitTask(islandData, ctx));
+	}
+
+	@Override
+	public void submitTask(IslandData islandData, DetectionContext context) {
+		ServerPlayer player = context.getPlayer();
+		ItemStack craftedItem = context.getCraftedItem();
+
 		if (!islandData.isMember(player.getUUID())) {
 			return;
 		}
@@ -345,8 +353,8 @@ public class ItemTask extends Task implements Predicate<ItemStack> {
 				}
 			} else {
 				var toCheck = ItemMatchingSystem.INSTANCE.isItemFilter(itemStack) ?
-						FTBQuestsInventoryListener.getAllNonEmptyStacksForPlayer() :
-						FTBQuestsInventoryListener.getStacksForPlayerOfType(itemStack.getItem());
+						context.getAllNonEmptyStacks() :
+						context.getStacks(itemStack.getItem());
 				long matchCount = countMatchingItems(toCheck);
 				if (matchCount > islandData.getProgress(this)) {
 					islandData.setProgress(this, matchCount);
@@ -366,6 +374,7 @@ public class ItemTask extends Task implements Predicate<ItemStack> {
 			}
 
 			if (changed) {
+				context.invalidateInventory();
 				player.getInventory().setChanged();
 				player.containerMenu.broadcastChanges();
 			}
@@ -107,8 +107,19 @@ public class KillTask extends Task {
 	public void onButtonClicked(Button button, boolean canClick) {
 	}
 
+	public ResourceLocation getEntity() {
+		return entity;
+	}
+
 	public void kill(IslandData islandData, LivingEntity e) {
-		if (!islandData.isCompleted(this) && entity.equals(RegistrarManager.getId(e.getType(), Registries.ENTITY_TYPE))) {
+		kill(islandData, RegistrarManager.getId(e.getType(), Registries.ENTITY_TYPE));
+	}
+
+	/**
+	 * Variant of {@link #kill(IslandData, LivingEntity)} for callers which have already resolved the entity's type ID.
+	 */
+	public void kill(IslandData islandData, ResourceLocation entityType) {
+		if (!islandData.isCompleted(this) && entity.equals(entityType)) {
 			islandData.addProgress(this, 1L);
 		}
 	}
@@ -122,9 +122,46 @@ public class LocationTask extends AbstractBooleanTask {
 		config.addInt("d", d, v -> d = v, 1, 1, Integer.MAX_VALUE);
 	}
 
+	public ResourceKey<Level> getDimension() {
+		return dimension;
+	}
+
+	public boolean ignoresDimension() {
+		return ignoreDimension;
+	}
+
+	/**
+	 * @return the smallest X coordinate in the area
+	 */
+	public int getMinX() {
+		return x;
+	}
+
+	/**
+	 * @return the smallest Z coordinate in the area
+	 */
+	public int getMinZ() {
+		return z;
+	}
+
+	/**
+	 * @return the largest X coordinate in the area (inclusive)
+	 */
+	public long getMaxX() {
+		return (long) x + w - 1L;
+	}
+
+	/**
+	 * @return the largest Z coordinate in the area (inclusive)
+	 */
+	public long getMaxZ() {
+		return (long) z + d - 1L;
+	}
+
 	@Override
-	public int autoSubmitOnPlayerTick() {
-		return 3;
+	public boolean isPushDriven() {
+		// see PlayerLocationTracker
+		return true;
 	}
 
 	@Override
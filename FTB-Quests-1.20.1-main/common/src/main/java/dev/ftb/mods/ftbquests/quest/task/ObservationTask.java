@@ -1,7 +1,6 @@
 package dev.ftb.mods.ftbquests.quest.task;
 
 import com.mojang.brigadier.StringReader;
-import dev.architectury.registry.registries.RegistrarManager;
 import dev.ftb.mods.ftblibrary.config.ConfigGroup;
 import dev.ftb.mods.ftblibrary.config.NameMap;
 import dev.ftb.mods.ftblibrary.ui.Button;
@@ -21,14 +20,18 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.tags.TagKey;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.pattern.BlockInWorld;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.EntityHitResult;
 import net.minecraft.world.phys.HitResult;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
@@ -39,6 +42,7 @@ public class ObservationTask extends AbstractBooleanTask {
 	private long timer;
 	private ObserveType observeType;
 	private String toObserve;
+	private CompiledTarget compiledTarget;
 
 	public ObservationTask(long id, Quest quest) {
 		super(id, quest);
@@ -50,6 +54,7 @@ public class ObservationTask extends AbstractBooleanTask {
 
 	public void setToObserve(String toObserve) {
 		this.toObserve = toObserve;
+		compiledTarget = null;
 	}
 
 	public long getTimer() {
@@ -75,6 +80,7 @@ public class ObservationTask extends AbstractBooleanTask {
 		timer = nbt.getLong("timer");
 		observeType = ObserveType.values()[nbt.getInt("observe_type")];
 		toObserve = nbt.getString("to_observe");
+		compiledTarget = null;
 	}
 
 	@Override
@@ -91,6 +97,7 @@ public class ObservationTask extends AbstractBooleanTask {
 		timer = buffer.readVarLong();
 		observeType = buffer.readEnum(ObserveType.class);
 		toObserve = buffer.readUtf(Short.MAX_VALUE);
+		compiledTarget = null;
 	}
 
 	@Override
@@ -98,8 +105,11 @@ public class ObservationTask extends AbstractBooleanTask {
 	public void fillConfigGroup(ConfigGroup config) {
 		super.fillConfigGroup(config);
 		config.addLong("timer", timer, v -> timer = v, 0L, 0L, 1200L);
-		config.addEnum("observe_type", observeType, v -> observeType = v, ObserveType.NAME_MAP);
-		config.addString("to_observe", toObserve, v -> toObserve = v, "minecraft:dirt");
+		config.addEnum("observe_type", observeType, v -> {
+			observeType = v;
+			compiledTarget = null;
+		}, ObserveType.NAME_MAP);
+		config.addString("to_observe", toObserve, this::setToObserve, "minecraft:dirt");
 	}
 
 	@Override
@@ -123,73 +133,171 @@ public class ObservationTask extends AbstractBooleanTask {
 		return false;
 	}
 
-	public boolean observe(Player player, HitResult result) {
-		if (toObserve.isEmpty()) {
-			return false;
+	@Override
+	public void clearCachedData() {
+		super.clearCachedData();
+		compiledTarget = null;
+	}
+
+	private CompiledTarget getCompiledTarget() {
+		if (compiledTarget == null) {
+			compiledTarget = CompiledTarget.compile(observeType, toObserve);
 		}
+		return compiledTarget;
+	}
 
+	/**
+	 * @return true if this task observes entities, false if it observes blocks
+	 */
+	public boolean isEntityObservation() {
+		return observeType == ObserveType.ENTITY_TYPE || observeType == ObserveType.ENTITY_TYPE_TAG;
+	}
+
+	/**
+	 * @return false if the observation target can't be parsed, so the task can never be observed
+	 */
+	public boolean canBeObserved() {
+		return getCompiledTarget() != CompiledTarget.NONE;
+	}
+
+	/**
+	 * @return the block this task observes, if it only matches one block; null otherwise
+	 */
+	@Nullable
+	public Block getObservedBlock() {
+		return getCompiledTarget().block;
+	}
+
+	/**
+	 * @return the block entity type this task observes, if any
+	 */
+	@Nullable
+	public BlockEntityType<?> getObservedBlockEntityType() {
+		return getCompiledTarget().blockEntityType;
+	}
+
+	/**
+	 * @return the entity type this task observes, if it only matches one entity type; null otherwise
+	 */
+	@Nullable
+	public EntityType<?> getObservedEntityType() {
+		return getCompiledTarget().entityType;
+	}
+
+	public boolean observe(Player player, HitResult result) {
 		if (result instanceof BlockHitResult blockResult) {
-			BlockInWorld blockInWorld = new BlockInWorld(player.level(), blockResult.getBlockPos(), false);
+			return observeBlock(new BlockInWorld(player.level(), blockResult.getBlockPos(), false));
+		} else if (result instanceof EntityHitResult entityResult) {
+			return observeEntity(entityResult.getEntity());
+		}
 
-			BlockState state = blockInWorld.getState();
-			if (state == null) {
-				return false;
-			}
+		return false;
+	}
 
-			Block block = state.getBlock();
-			BlockEntity blockEntity = blockInWorld.getEntity();
+	public boolean observeBlock(BlockInWorld blockInWorld) {
+		BlockState state = blockInWorld.getState();
+		return state != null && getCompiledTarget().testBlock(blockInWorld, state);
+	}
 
-			switch (observeType) {
-				case BLOCK -> {
-					return String.valueOf(RegistrarManager.getId(block, Registries.BLOCK)).equals(toObserve);
-				}
-				case BLOCK_TAG -> {
-					return asTagRL(toObserve)
-							.map(rl -> state.is(TagKey.create(Registries.BLOCK, rl)))
-							.orElse(false);
-				}
-				case BLOCK_STATE -> {
-					BlockInput stateMatch = tryMatchBlock(toObserve, false);
-					return stateMatch != null && stateMatch.test(blockInWorld);
-				}
-				case BLOCK_ENTITY -> {
-					BlockInput stateNbtMatch = tryMatchBlock(toObserve, true);
-					return stateNbtMatch != null && stateNbtMatch.test(blockInWorld);
-				}
-				case BLOCK_ENTITY_TYPE -> {
-					return blockEntity != null && toObserve.equals(String.valueOf(RegistrarManager.getId(blockEntity.getType(), Registries.BLOCK_ENTITY_TYPE)));
-				}
-				default -> {
-					return false;
+	public boolean observeEntity(Entity entity) {
+		return getCompiledTarget().testEntity(entity);
+	}
+
+	/**
+	 * The observation target, parsed once from the type and target string rather than on every check.
+	 */
+	private static final class CompiledTarget {
+		private static final CompiledTarget NONE = new CompiledTarget(null, null, null, null, null, null);
+
+		private final Block block;
+		private final TagKey<Block> blockTag;
+		private final BlockInput blockInput;
+		private final BlockEntityType<?> blockEntityType;
+		private final EntityType<?> entityType;
+		private final TagKey<EntityType<?>> entityTag;
+
+		private CompiledTarget(Block block, TagKey<Block> blockTag, BlockInput blockInput, BlockEntityType<?> blockEntityType, EntityType<?> entityType, TagKey<EntityType<?>> entityTag) {
+			this.block = block;
+			this.blockTag = blockTag;
+			this.blockInput = blockInput;
+			this.blockEntityType = blockEntityType;
+			this.entityType = entityType;
+			this.entityTag = entityTag;
+		}
+
+		private static CompiledTarget compile(ObserveType type, String toObserve) {
+			if (toObserve.isEmpty()) {
+				return NONE;
+			}
+
+			return switch (type) {
+				case BLOCK -> asRL(toObserve)
+						.flatMap(BuiltInRegistries.BLOCK::getOptional)
+						.map(block -> new CompiledTarget(block, null, null, null, null, null))
+						.orElse(NONE);
+				case BLOCK_TAG -> asTagRL(toObserve)
+						.map(rl -> new CompiledTarget(null, TagKey.create(Registries.BLOCK, rl), null, null, null, null))
+						.orElse(NONE);
+				case BLOCK_STATE, BLOCK_ENTITY -> {
+					BlockInput input = tryMatchBlock(toObserve, type == ObserveType.BLOCK_ENTITY);
+					yield input == null ? NONE : new CompiledTarget(input.getState().getBlock(), null, input, null, null, null);
 				}
+				case BLOCK_ENTITY_TYPE -> asRL(toObserve)
+						.flatMap(BuiltInRegistries.BLOCK_ENTITY_TYPE::getOptional)
+						.map(beType -> new CompiledTarget(null, null, null, beType, null, null))
+						.orElse(NONE);
+				case ENTITY_TYPE -> asRL(toObserve)
+						.flatMap(BuiltInRegistries.ENTITY_TYPE::getOptional)
+						.map(entityType -> new CompiledTarget(null, null, null, null, entityType, null))
+						.orElse(NONE);
+				case ENTITY_TYPE_TAG -> asTagRL(toObserve)
+						.map(rl -> new CompiledTarget(null, null, null, null, null, TagKey.create(Registries.ENTITY_TYPE, rl)))
+						.orElse(NONE);
+			};
+		}
+
+		private boolean testBlock(BlockInWorld blockInWorld, BlockState state) {
+			if (blockInput != null) {
+				return blockInput.test(blockInWorld);
+			} else if (block != null) {
+				return state.is(block);
+			} else if (blockTag != null) {
+				return state.is(blockTag);
+			} else if (blockEntityType != null) {
+				BlockEntity blockEntity = blockInWorld.getEntity();
+				return blockEntity != null && blockEntity.getType() == blockEntityType;
 			}
-		} else if (result instanceof EntityHitResult entityResult) {
-			if (observeType == ObserveType.ENTITY_TYPE) {
-				return toObserve.equals(String.valueOf(RegistrarManager.getId(entityResult.getEntity().getType(), Registries.ENTITY_TYPE)));
-			} else if (observeType == ObserveType.ENTITY_TYPE_TAG) {
-				return asTagRL(toObserve)
-						.map(rl -> entityResult.getEntity().getType().is(TagKey.create(Registries.ENTITY_TYPE, rl)))
-						.orElse(false);
+			return false;
+		}
+
+		private boolean testEntity(Entity entity) {
+			if (entityType != null) {
+				return entity.getType() == entityType;
+			} else if (entityTag != null) {
+				return entity.getType().is(entityTag);
 			}
+			return false;
 		}
 
-		return false;
-	}
+		private static Optional<ResourceLocation> asRL(String str) {
+			return Optional.ofNullable(ResourceLocation.tryParse(str));
+		}
 
-	private Optional<ResourceLocation> asTagRL(String str) {
-		try {
-			return Optional.of(new ResourceLocation(str.startsWith("#") ? str.substring(1) : str));
-		} catch (ResourceLocationException e) {
-			return Optional.empty();
+		private static Optional<ResourceLocation> asTagRL(String str) {
+			try {
+				return Optional.of(new ResourceLocation(str.startsWith("#") ? str.substring(1) : str));
+			} catch (ResourceLocationException e) {
+				return Optional.empty();
+			}
 		}
-	}
 
-	private BlockInput tryMatchBlock(String string, boolean parseNbt) {
-		try {
-			BlockStateParser.BlockResult blockStateParser = BlockStateParser.parseForBlock(BuiltInRegistries.BLOCK.asLookup(), new StringReader(string), false);
-			return new BlockInput(blockStateParser.blockState(), blockStateParser.properties().keySet(), parseNbt ? blockStateParser.nbt() : null);
-		} catch (Exception ex) {
-			return null;
+		private static BlockInput tryMatchBlock(String string, boolean parseNbt) {
+			try {
+				BlockStateParser.BlockResult blockStateParser = BlockStateParser.parseForBlock(BuiltInRegistries.BLOCK.asLookup(), new StringReader(string), false);
+				return new BlockInput(blockStateParser.blockState(), blockStateParser.properties().keySet(), parseNbt ? blockStateParser.nbt() : null);
+			} catch (Exception ex) {
+				return null;
+			}
 		}
 	}
 
@@ -14,6 +14,7 @@ import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
 
 /**
  * @author LatvianModder
@@ -87,10 +88,10 @@ public class StageTask extends AbstractBooleanTask {
 			return;
 		}
 
-		ServerQuestFile.INSTANCE.withPlayerContext(player, () -> {
+		ServerQuestFile.INSTANCE.withDetectionContext(player, ItemStack.EMPTY, 0L, ctx -> {
 			for (Task task : ServerQuestFile.INSTANCE.getAllTasks()) {
 				if (task instanceof StageTask && data.canStartTasks(task.getQuest())) {
-					task.submitTask(data, player);
+					task.submitTask(data, ctx);
 				}
 			}
 		});
@@ -15,6 +15,7 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.stats.Stats;
 import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -97,8 +98,25 @@ public class StatTask extends Task {
 	}
 
 	@Override
-	public int autoSubmitOnPlayerTick() {
-		return 3;
+	public boolean isPushDriven() {
+		// see StatAndAdvancementListener
+		return true;
+	}
+
+	/**
+	 * Get the registered ID of this task's stat.
+	 *
+	 * @return the stat ID, or null if the stat isn't registered
+	 */
+	@Nullable
+	public ResourceLocation getResolvedStat() {
+		ResourceLocation statId = BuiltInRegistries.CUSTOM_STAT.get(stat);
+
+		// workaround for a bug where mods might register a modded stat in the vanilla namespace
+		//  https://github.com/FTBTeam/FTB-Mods-Issues/issues/724
+		if (statId == null) statId = BuiltInRegistries.CUSTOM_STAT.get(new ResourceLocation(stat.getPath()));
+
+		return statId;
 	}
 
 	@Override
@@ -107,11 +125,7 @@ public class StatTask extends Task {
 			return;
 		}
 
-		ResourceLocation statId = BuiltInRegistries.CUSTOM_STAT.get(stat);
-
-		// workaround for a bug where mods might register a modded stat in the vanilla namespace
-		//  https://github.com/FTBTeam/FTB-Mods-Issues/issues/724
-		if (statId == null) statId = BuiltInRegistries.CUSTOM_STAT.get(new ResourceLocation(stat.getPath()));
+		ResourceLocation statId = getResolvedStat();
 
 		if (statId != null) {
 			// could be null, if someone brought an FTB Quests save from a different world and the stat's missing here
@@ -6,9 +6,12 @@ import dev.ftb.mods.ftblibrary.config.NameMap;
 import dev.ftb.mods.ftbquests.net.SyncStructuresRequestMessage;
 import dev.ftb.mods.ftbquests.quest.IslandData;
 import dev.ftb.mods.ftbquests.quest.Quest;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.ChatFormatting;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Registry;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
@@ -19,10 +22,15 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.StructureManager;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraft.world.level.levelgen.structure.Structure;
+import net.minecraft.world.level.levelgen.structure.StructurePiece;
+import net.minecraft.world.level.levelgen.structure.StructureStart;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * @author MaxNeedsSnacks
@@ -31,8 +39,11 @@ public class StructureTask extends AbstractBooleanTask {
 	private static final ResourceLocation DEFAULT_STRUCTURE = new ResourceLocation("minecraft:mineshaft");
 
 	private static final List<String> KNOWN_STRUCTURES = new ArrayList<>();
+	// per-dimension limit on the number of chunks whose structure pieces are remembered
+	private static final int MAX_CACHED_CHUNKS = 1024;
 
 	private Either<ResourceKey<Structure>, TagKey<Structure>> structure;
+	private final Map<ResourceKey<Level>, Long2ObjectLinkedOpenHashMap<List<BoundingBox>>> pieceCache = new HashMap<>();
 
 	public StructureTask(long id, Quest quest) {
 		super(id, quest);
@@ -94,8 +105,9 @@ public class StructureTask extends AbstractBooleanTask {
 	}
 
 	@Override
-	public int autoSubmitOnPlayerTick() {
-		return 20;
+	public boolean isPushDriven() {
+		// see PlayerLocationTracker
+		return true;
 	}
 
 	@Override
@@ -108,14 +120,70 @@ public class StructureTask extends AbstractBooleanTask {
 	public boolean canSubmit(IslandData islandData, ServerPlayer player) {
 		if (player.isSpectator()) return false;
 
-		ServerLevel level = (ServerLevel) player.level();
-		return structure.map(
-				key -> level.structureManager().getStructureWithPieceAt(player.blockPosition(), key).isValid(),
-				tag -> level.structureManager().getStructureWithPieceAt(player.blockPosition(), tag).isValid()
-		);
+		BlockPos pos = player.blockPosition();
+		for (BoundingBox box : getPieceBoxes((ServerLevel) player.level(), ChunkPos.asLong(pos))) {
+			if (box.isInside(pos)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the bounding boxes of all pieces of matching structures which are referenced from the given chunk; this is
+	 * the same set of pieces that {@link StructureManager#getStructureWithPieceAt} checks for any position in that
+	 * chunk. Structures don't change once generated, so the result is cached per chunk.
+	 *
+	 * @param level the level
+	 * @param chunkPos the chunk position, as a packed long
+	 * @return the piece bounding boxes, which intersect the chunk (possibly empty)
+	 */
+	public List<BoundingBox> getPieceBoxes(ServerLevel level, long chunkPos) {
+		Long2ObjectLinkedOpenHashMap<List<BoundingBox>> cache = pieceCache.computeIfAbsent(level.dimension(), k -> new Long2ObjectLinkedOpenHashMap<>());
+
+		List<BoundingBox> boxes = cache.getAndMoveToLast(chunkPos);
+		if (boxes == null) {
+			boxes = findPieceBoxes(level, new ChunkPos(chunkPos));
+			cache.putAndMoveToLast(chunkPos, boxes);
+			if (cache.size() > MAX_CACHED_CHUNKS) {
+				cache.removeFirst();
+			}
+		}
+		return boxes;
+	}
+
+	private List<BoundingBox> findPieceBoxes(ServerLevel level, ChunkPos chunkPos) {
+		Registry<Structure> registry = level.registryAccess().registryOrThrow(Registries.STRUCTURE);
+		Set<Structure> matching = Collections.newSetFromMap(new IdentityHashMap<>());
+		structure.ifLeft(key -> {
+			Structure s = registry.get(key);
+			if (s != null) matching.add(s);
+		}).ifRight(tag -> registry.getTagOrEmpty(tag).forEach(holder -> matching.add(holder.value())));
+
+		if (matching.isEmpty()) {
+			return List.of();
+		}
+
+		List<BoundingBox> res = new ArrayList<>();
+		for (StructureStart start : level.structureManager().startsForStructure(chunkPos, matching::contains)) {
+			for (StructurePiece piece : start.getPieces()) {
+				BoundingBox box = piece.getBoundingBox();
+				if (box.intersects(chunkPos.getMinBlockX(), chunkPos.getMinBlockZ(), chunkPos.getMaxBlockX(), chunkPos.getMaxBlockZ())) {
+					res.add(box);
+				}
+			}
+		}
+		return res.isEmpty() ? List.of() : res;
+	}
+
+	@Override
+	public void clearCachedData() {
+		super.clearCachedData();
+		pieceCache.clear();
 	}
 
 	private void setStructure(String resLoc) {
+		pieceCache.clear();
 		structure = resLoc.startsWith("#") ?
 				Either.right(TagKey.create(Registries.STRUCTURE, safeResourceLocation(resLoc.substring(1), DEFAULT_STRUCTURE))) :
 				Either.left(ResourceKey.create(Registries.STRUCTURE, safeResourceLocation(resLoc, DEFAULT_STRUCTURE)));
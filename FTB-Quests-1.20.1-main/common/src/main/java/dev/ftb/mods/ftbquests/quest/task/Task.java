@@ -234,7 +234,7 @@ public abstract class Task extends QuestObject {
 
 	@Environment(EnvType.CLIENT)
 	public void onButtonClicked(Button button, boolean canClick) {
-		if (canClick && autoSubmitOnPlayerTick() <= 0) {
+		if (canClick && canBeManuallySubmitted()) {
 			button.playClickSound();
 			new SubmitTaskMessage(id).sendToServer();
 		}
@@ -266,6 +266,24 @@ public abstract class Task extends QuestObject {
 		return 0;
 	}
 
+	/**
+	 * Check if this task is completed by the server reacting to events (stats, advancements, the player moving...)
+	 * rather than by polling or submitting. Such tasks are checked whenever they may have become startable, see
+	 * {@link dev.ftb.mods.ftbquests.quest.TaskDispatchIndex#getPushTasks()}.
+	 *
+	 * @return true if this task is push-driven
+	 */
+	public boolean isPushDriven() {
+		return false;
+	}
+
+	/**
+	 * @return true if the player can submit this task by clicking it, i.e. it's neither polled nor push-driven
+	 */
+	public boolean canBeManuallySubmitted() {
+		return autoSubmitOnPlayerTick() <= 0 && !isPushDriven();
+	}
+
 	@Override
 	public final boolean cacheProgress() {
 		return false;
@@ -278,7 +296,19 @@ public abstract class Task extends QuestObject {
 		submitTask(islandData, player, ItemStack.EMPTY);
 	}
 
-	protected final boolean checkTaskSequence(IslandData islandData) { // MODIFIED
+	/**
+	 * Submit this task as part of a detection pass. Tasks which check the player's inventory should override this
+	 * and use the context's cached inventory view; by default it just calls
+	 * {@link #submitTask(IslandData, ServerPlayer, ItemStack)}.
+	 *
+	 * @param islandData the island data
+	 * @param context the current detection context
+	 */
+	public void submitTask(IslandData islandData, DetectionContext context) {
+		submitTask(islandData, context.getPlayer(), context.getCraftedItem());
+	}
+
+	public final boolean checkTaskSequence(IslandData islandData) { // MODIFIED
 		if (quest.getRequireSequentialTasks()) {
 			List<Task> tasks = quest.getTasksAsList();
 			int idx = tasks.indexOf(this);
@@ -1,38 +1,66 @@
 package dev.ftb.mods.ftbquests.util;
 
-import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import net.minecraft.core.NonNullList;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.ItemStack;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 
 public class DeferredInventoryDetection {
     private static final long MILLIS_IN_TICK = 50L;
-    private static final Object2LongOpenHashMap<UUID> playerMap = new Object2LongOpenHashMap<>();
+    private static final Map<UUID, PendingCheck> playerMap = new HashMap<>();
 
     public static void tick(MinecraftServer server) {
         if (!playerMap.isEmpty()) {
-            Set<UUID> toRemove = new HashSet<>();
+            Map<UUID, PendingCheck> due = new HashMap<>();
             long now = System.currentTimeMillis();
 
-            for (UUID id : playerMap.keySet()) {
-                if (now >= playerMap.getLong(id)) {
-                    ServerPlayer sp = server.getPlayerList().getPlayer(id);
-                    if (sp != null) {
-                        FTBQuestsInventoryListener.detect(sp, ItemStack.EMPTY, 0);
-                    }
-                    toRemove.add(id);
+            for (Iterator<Map.Entry<UUID, PendingCheck>> iter = playerMap.entrySet().iterator(); iter.hasNext(); ) {
+                Map.Entry<UUID, PendingCheck> entry = iter.next();
+                if (now >= entry.getValue().when) {
+                    due.put(entry.getKey(), entry.getValue());
+                    iter.remove();
                 }
             }
 
-            toRemove.forEach(playerMap::removeLong);
+            // detection may change the inventory and schedule further checks, so run it outside the iteration above
+            due.forEach((id, check) -> {
+                ServerPlayer sp = server.getPlayerList().getPlayer(id);
+                if (sp != null) {
+                    FTBQuestsInventoryListener.detectChanges(sp, check.getChangedStacks(sp));
+                }
+            });
         }
     }
 
-    static void scheduleInventoryCheck(ServerPlayer sp, int delay) {
-        playerMap.putIfAbsent(sp.getUUID(), System.currentTimeMillis() + delay * MILLIS_IN_TICK);
+    static void scheduleInventoryCheck(ServerPlayer sp, int slot, int delay) {
+        playerMap.computeIfAbsent(sp.getUUID(), k -> new PendingCheck(System.currentTimeMillis() + delay * MILLIS_IN_TICK))
+                .slots.add(slot);
+    }
+
+    private static class PendingCheck {
+        private final long when;
+        private final IntSet slots = new IntOpenHashSet();
+
+        private PendingCheck(long when) {
+            this.when = when;
+        }
+
+        private List<ItemStack> getChangedStacks(ServerPlayer sp) {
+            // slot contents may have changed again since scheduling, so read the current stacks
+            NonNullList<ItemStack> items = sp.getInventory().items;
+            List<ItemStack> res = new ArrayList<>(slots.size());
+            for (IntIterator iter = slots.iterator(); iter.hasNext(); ) {
+                int slot = iter.nextInt();
+                if (slot < items.size() && !items.get(slot).isEmpty()) {
+                    res.add(items.get(slot));
+                }
+            }
+            return res;
+        }
     }
 }
@@ -8,7 +8,6 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.Mth;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.ContainerListener;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
 import java.util.*;
@@ -19,13 +18,17 @@ import java.util.*;
 public class FTBQuestsInventoryListener implements ContainerListener {
 	public final ServerPlayer player;
 
-	private static final Map<Item, List<ItemStack>> inventorySummaryCache = new HashMap<>();
-	private static final List<ItemStack> nonEmptyStacks = new ArrayList<>();
-
 	public FTBQuestsInventoryListener(ServerPlayer p) {
 		player = p;
 	}
 
+	/**
+	 * Check all inventory-submitted tasks (or if an item was just crafted, the crafting tasks for that item).
+	 *
+	 * @param player the player
+	 * @param craftedItem the item just crafted or smelted, or {@code ItemStack.EMPTY} for an inventory check
+	 * @param sourceTask ID of a task to skip (the one which triggered this check), or 0
+	 */
 	public static void detect(ServerPlayer player, ItemStack craftedItem, long sourceTask) {
 		ServerQuestFile file = ServerQuestFile.INSTANCE;
 
@@ -33,59 +36,64 @@ public class FTBQuestsInventoryListener implements ContainerListener {
 			return;
 		}
 
-		List<Task> tasksToCheck = craftedItem.isEmpty() ? file.getSubmitTasks() : file.getCraftingTasks();
+		Collection<Task> tasksToCheck = craftedItem.isEmpty() ? file.getSubmitTasks() : file.getTaskDispatchIndex().getCraftingTasks(craftedItem.getItem());
+		runDetection(file, player, craftedItem, sourceTask, tasksToCheck);
+	}
+
+	/**
+	 * Check only those inventory-submitted tasks which could be affected by the given stacks, which are the new
+	 * contents of inventory slots which have changed.
+	 *
+	 * @param player the player
+	 * @param changedStacks the changed stacks
+	 */
+	public static void detectChanges(ServerPlayer player, Collection<ItemStack> changedStacks) {
+		ServerQuestFile file = ServerQuestFile.INSTANCE;
+
+		if (file == null || PlayerHooks.isFake(player) || changedStacks.isEmpty()) {
+			return;
+		}
+
+		runDetection(file, player, ItemStack.EMPTY, 0L, file.getTaskDispatchIndex().getSubmitTasks(changedStacks));
+	}
 
+	private static void runDetection(ServerQuestFile file, ServerPlayer player, ItemStack craftedItem, long sourceTask, Collection<Task> tasksToCheck) {
 		if (!tasksToCheck.isEmpty()) {
 			IslandData data = file.getOrCreateIslandData(player);
 			if (data != null && !data.isLocked()) {
-				file.withPlayerContext(player, () -> {
-					buildInventorySummary(player);
+				file.withDetectionContext(player, craftedItem, sourceTask, ctx -> {
 					for (Task task : tasksToCheck) {
 						if (task.id != sourceTask && data.canStartTasks(task.getQuest())) {
-							task.submitTask(data, player, craftedItem);
+							task.submitTask(data, ctx);
 						}
 					}
-					inventorySummaryCache.clear();
-					nonEmptyStacks.clear();
 				});
 			}
 		}
 	}
 
-	private static void buildInventorySummary(ServerPlayer player) {
-		player.getInventory().items.forEach(stack -> {
-			if (!stack.isEmpty()) {
-				inventorySummaryCache.computeIfAbsent(stack.getItem(), k -> new ArrayList<>()).add(stack);
-				nonEmptyStacks.add(stack);
-			}
-		});
-	}
-
-	public static Collection<ItemStack> getStacksForPlayerOfType(Item item) {
-		return inventorySummaryCache.getOrDefault(item, List.of());
-	}
-
-	public static Collection<ItemStack> getAllNonEmptyStacksForPlayer() {
-		return nonEmptyStacks;
-	}
-
 	@Override
 	public void dataChanged(AbstractContainerMenu abstractContainerMenu, int i, int j) {
 	}
 
 	@Override
 	public void slotChanged(AbstractContainerMenu menu, int index, ItemStack stack) {
-		if (!stack.isEmpty() && menu.getSlot(index).container == player.getInventory()) {
+		if (menu.getSlot(index).container == player.getInventory()) {
 			int slotNum = menu.getSlot(index).getContainerSlot();
 			if (slotNum >= 0 && slotNum < player.getInventory().items.size()) {
 				// Only checking for items in the main inventory & hotbar
 				// Armor slots can contain items with rapidly changing NBT (especially powered modded armor)
 				//  which can trigger a lot of unnecessary inventory scans
-				int delay = Mth.clamp(ServerQuestFile.INSTANCE.getDetectionDelay(), 0, 200);
-				if (delay == 0) {
-					FTBQuestsInventoryListener.detect(player, ItemStack.EMPTY, 0);
-				} else {
-					DeferredInventoryDetection.scheduleInventoryCheck(player, delay);
+				PlayerInventoryIndex.get(player).slotChanged(slotNum, stack);
+
+				// removing items never increases task progress, so only non-empty slots need checking
+				if (!stack.isEmpty()) {
+					int delay = Mth.clamp(ServerQuestFile.INSTANCE.getDetectionDelay(), 0, 200);
+					if (delay == 0) {
+						FTBQuestsInventoryListener.detectChanges(player, List.of(stack));
+					} else {
+						DeferredInventoryDetection.scheduleInventoryCheck(player, slotNum, delay);
+					}
 				}
 			}
 		}
@@ -0,0 +1,140 @@
+package dev.ftb.mods.ftbquests.util;
+
+import it.unimi.dsi.fastutil.ints.IntArraySet;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import net.minecraft.core.NonNullList;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.*;
+
+/**
+ * Per-player index of which main inventory slots hold which item, kept up to date from individual slot changes
+ * (see {@link FTBQuestsInventoryListener#slotChanged}) rather than by rescanning the whole inventory each time item
+ * detection runs. Only slot numbers are indexed; stacks are always read live from the player's inventory.
+ * <p>
+ * Slot changes only reach the listener when the player's menu is next broadcast, so items put in the inventory earlier
+ * in the same tick (e.g. by a reward being claimed) may not have been reported yet. Lookups therefore first compare
+ * each slot's indexed item with the live one, which only costs an identity check per slot, and fix up any that differ.
+ */
+public class PlayerInventoryIndex {
+	private static final Map<UUID, PlayerInventoryIndex> INDEXES = new HashMap<>();
+
+	private final Map<Item, IntSet> slotsByItem = new IdentityHashMap<>();
+	private Item[] slotItems = new Item[0];
+	private boolean valid = false;
+
+	public static PlayerInventoryIndex get(ServerPlayer player) {
+		return INDEXES.computeIfAbsent(player.getUUID(), k -> new PlayerInventoryIndex());
+	}
+
+	public static void remove(UUID playerId) {
+		INDEXES.remove(playerId);
+	}
+
+	/**
+	 * Force a full rebuild next time the index is queried; needed when the player object is replaced (e.g. respawn).
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	void slotChanged(int slot, ItemStack stack) {
+		if (valid) {
+			if (slot >= 0 && slot < slotItems.length) {
+				setSlot(slot, stack.isEmpty() ? null : stack.getItem());
+			} else {
+				valid = false;
+			}
+		}
+	}
+
+	/**
+	 * Get the stacks of the given item in the player's main inventory.
+	 *
+	 * @param player the player
+	 * @param item the item
+	 * @return the matching stacks (live references, don't modify)
+	 */
+	public List<ItemStack> getStacks(ServerPlayer player, Item item) {
+		NonNullList<ItemStack> items = ensureValid(player);
+
+		IntSet slots = slotsByItem.get(item);
+		if (slots == null || slots.isEmpty()) {
+			return List.of();
+		}
+
+		List<ItemStack> res = new ArrayList<>(slots.size());
+		for (IntIterator iter = slots.iterator(); iter.hasNext(); ) {
+			ItemStack stack = items.get(iter.nextInt());
+			// guard against in-place changes we haven't been told about yet
+			if (!stack.isEmpty() && stack.getItem() == item) {
+				res.add(stack);
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * Get all the non-empty stacks in the player's main inventory.
+	 *
+	 * @param player the player
+	 * @return the non-empty stacks (live references, don't modify)
+	 */
+	public List<ItemStack> getAllNonEmptyStacks(ServerPlayer player) {
+		List<ItemStack> res = new ArrayList<>();
+		for (ItemStack stack : player.getInventory().items) {
+			if (!stack.isEmpty()) {
+				res.add(stack);
+			}
+		}
+		return res;
+	}
+
+	private NonNullList<ItemStack> ensureValid(ServerPlayer player) {
+		NonNullList<ItemStack> items = player.getInventory().items;
+
+		if (!valid || slotItems.length != items.size()) {
+			slotsByItem.clear();
+			slotItems = new Item[items.size()];
+
+			for (int i = 0; i < items.size(); i++) {
+				ItemStack stack = items.get(i);
+				if (!stack.isEmpty()) {
+					setSlot(i, stack.getItem());
+				}
+			}
+
+			valid = true;
+		} else {
+			for (int i = 0; i < items.size(); i++) {
+				ItemStack stack = items.get(i);
+				setSlot(i, stack.isEmpty() ? null : stack.getItem());
+			}
+		}
+
+		return items;
+	}
+
+	private void setSlot(int slot, Item item) {
+		Item prev = slotItems[slot];
+		if (prev == item) {
+			return;
+		}
+
+		if (prev != null) {
+			IntSet slots = slotsByItem.get(prev);
+			if (slots != null && slots.remove(slot) && slots.isEmpty()) {
+				slotsByItem.remove(prev);
+			}
+		}
+
+		if (item != null) {
+			slotsByItem.computeIfAbsent(item, k -> new IntArraySet()).add(slot);
+		}
+
+		slotItems[slot] = item;
+	}
+}
@@ -0,0 +1,100 @@
+package dev.ftb.mods.ftbquests.util;
+
+import dev.architectury.hooks.level.entity.PlayerHooks;
+import dev.ftb.mods.ftbquests.quest.IslandData;
+import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
+import dev.ftb.mods.ftbquests.quest.SpatialTaskIndex;
+import dev.ftb.mods.ftbquests.quest.task.StructureTask;
+import dev.ftb.mods.ftbquests.quest.task.Task;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import java.util.*;
+
+/**
+ * Per-player record of where the player was last checked, used to drive location and structure tasks from player
+ * movement instead of polling them. The candidate tasks are only looked up from the {@link SpatialTaskIndex} (and
+ * structure pieces from the per-chunk cache) when the player enters a different chunk; while the player stays inside
+ * one chunk, only moving to a different block causes the (few, if any) candidates to be checked again.
+ */
+public class PlayerLocationTracker {
+	private static final Map<UUID, PlayerLocationTracker> TRACKERS = new HashMap<>();
+
+	private SpatialTaskIndex index = null;
+	private ResourceKey<Level> dimension = null;
+	private long chunkPos;
+	private long blockPos;
+	private List<Task> candidates = List.of();
+
+	public static void remove(UUID playerId) {
+		TRACKERS.remove(playerId);
+	}
+
+	public static void playerTick(ServerQuestFile file, ServerPlayer player) {
+		SpatialTaskIndex index = file.getTaskDispatchIndex().getSpatialIndex();
+
+		if (index.isEmpty() || PlayerHooks.isFake(player)) {
+			return;
+		}
+
+		PlayerLocationTracker tracker = TRACKERS.computeIfAbsent(player.getUUID(), k -> new PlayerLocationTracker());
+		if (tracker.update(index, player)) {
+			List<Task> candidates = tracker.candidates;
+			if (!candidates.isEmpty()) {
+				IslandData data = file.getOrCreateIslandData(player);
+
+				if (data != null && !data.isLocked() && data.isMember(player.getUUID())) {
+					file.submitTasks(data, player, candidates);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Record the player's current position.
+	 *
+	 * @return true if the player is at a different block than last time, so the candidates need checking
+	 */
+	private boolean update(SpatialTaskIndex index, ServerPlayer player) {
+		ResourceKey<Level> dim = player.level().dimension();
+		int x = Mth.floor(player.getX());
+		int y = Mth.floor(player.getY());
+		int z = Mth.floor(player.getZ());
+		long newBlockPos = BlockPos.asLong(x, y, z);
+		long newChunkPos = ChunkPos.asLong(x >> 4, z >> 4);
+
+		if (index == this.index && dim == dimension) {
+			if (newBlockPos == blockPos) {
+				return false;
+			}
+			blockPos = newBlockPos;
+			if (newChunkPos == chunkPos) {
+				return true;
+			}
+		}
+
+		this.index = index;
+		dimension = dim;
+		blockPos = newBlockPos;
+		chunkPos = newChunkPos;
+		candidates = findCandidates(index, (ServerLevel) player.level(), dim, newChunkPos);
+		return true;
+	}
+
+	private static List<Task> findCandidates(SpatialTaskIndex index, ServerLevel level, ResourceKey<Level> dim, long chunkPos) {
+		List<Task> res = new ArrayList<>(index.getLocationTasks(dim, chunkPos));
+
+		for (StructureTask task : index.getStructureTasks()) {
+			if (!task.getPieceBoxes(level, chunkPos).isEmpty()) {
+				res.add(task);
+			}
+		}
+
+		return res.isEmpty() ? List.of() : res;
+	}
+}
@@ -0,0 +1,156 @@
+package dev.ftb.mods.ftbquests.util;
+
+import dev.architectury.networking.simple.BaseS2CMessage;
+import dev.ftb.mods.ftbquests.net.MessageBatcher;
+import dev.ftb.mods.ftbquests.net.SyncIslandDataMessage;
+import dev.ftb.mods.ftbquests.net.SyncObjectVersionsMessage;
+import dev.ftb.mods.ftbquests.net.SyncQuestsMessage;
+import dev.ftb.mods.ftbquests.quest.IslandData;
+import dev.ftb.mods.ftbquests.quest.QuestBookFrames;
+import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.*;
+
+/**
+ * Sends quest books to players a few frames per tick, so that a player downloading a large book doesn't cause a
+ * spike in outgoing traffic (or a packet too large to send). When a player's transfer finishes, their island data and
+ * the objects' edit versions are sent after it, since the client discards both when it replaces its quest file.
+ * <p>
+ * Until then, the player isn't sent island updates (see {@link MessageBatcher}), and changes to the book are held
+ * back, see {@link #sendBookChange(ServerPlayer, BaseS2CMessage)}.
+ */
+public class QuestBookTransfers {
+	// at 32 KiB per frame, this is up to 2.5 MiB/s per player
+	private static final int FRAMES_PER_TICK = 4;
+	private static final Map<UUID, Transfer> TRANSFERS = new LinkedHashMap<>();
+	// players whose client has the current book loaded, along with their island data
+	private static final Set<UUID> SYNCED = new HashSet<>();
+
+	/**
+	 * Start sending a book to a player, replacing any unfinished transfer to them.
+	 */
+	public static void start(ServerPlayer player, QuestBookFrames book) {
+		SYNCED.remove(player.getUUID());
+		TRANSFERS.put(player.getUUID(), new Transfer(book));
+	}
+
+	public static void remove(UUID playerId) {
+		TRANSFERS.remove(playerId);
+		SYNCED.remove(playerId);
+	}
+
+	/**
+	 * Forget which players have the book, after it's been reloaded; they'll each ask for the new one.
+	 */
+	public static void bookReplaced() {
+		TRANSFERS.clear();
+		SYNCED.clear();
+	}
+
+	/**
+	 * Check whether a player's client has the quest book (and its own island data) loaded, so it can be sent
+	 * messages about either.
+	 */
+	public static boolean isSynced(ServerPlayer player) {
+		return SYNCED.contains(player.getUUID());
+	}
+
+	/**
+	 * Send a change to the quest book (an object being created, edited, moved or deleted) to a player. If the player
+	 * is still downloading the book, the change is held and sent once they have it, since the book being sent was
+	 * taken before the change. If they haven't started downloading it, the change is dropped, since the book they'll
+	 * be sent will already have it.
+	 */
+	public static void sendBookChange(ServerPlayer player, BaseS2CMessage message) {
+		if (SYNCED.contains(player.getUUID())) {
+			message.sendTo(player);
+		} else {
+			Transfer transfer = TRANSFERS.get(player.getUUID());
+			if (transfer != null) {
+				transfer.heldChanges.add(message);
+			}
+		}
+	}
+
+	public static void sendBookChange(Iterable<ServerPlayer> players, BaseS2CMessage message) {
+		for (ServerPlayer player : players) {
+			sendBookChange(player, message);
+		}
+	}
+
+	public static void sendBookChange(MinecraftServer server, BaseS2CMessage message) {
+		sendBookChange(server.getPlayerList().getPlayers(), message);
+	}
+
+	public static void tick(MinecraftServer server) {
+		if (TRANSFERS.isEmpty()) {
+			return;
+		}
+
+		for (Iterator<Map.Entry<UUID, Transfer>> iter = TRANSFERS.entrySet().iterator(); iter.hasNext(); ) {
+			Map.Entry<UUID, Transfer> entry = iter.next();
+			ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+
+			if (player == null) {
+				iter.remove();
+			} else if (entry.getValue().sendFrames(player)) {
+				iter.remove();
+				entry.getValue().heldChanges.forEach(message -> message.sendTo(player));
+				finishSync(player);
+			}
+		}
+	}
+
+	/**
+	 * Called once a player's client has the current book loaded, whether it was sent or the client had it cached.
+	 * Sends the player's island data, after which the player gets island and book updates like everyone else.
+	 */
+	public static void finishSync(ServerPlayer player) {
+		ServerQuestFile file = ServerQuestFile.INSTANCE;
+		IslandData data = file == null ? null : file.getOrCreateIslandData(player);
+
+		SYNCED.add(player.getUUID());
+		// island updates queued for the player so far are older than the island data being sent now
+		MessageBatcher.remove(player.getUUID());
+
+		if (data != null) {
+			new SyncIslandDataMessage(data, true).sendTo(player);
+		}
+
+		if (file != null) {
+			// always sent, since the client's book may have been loaded over one with different versions
+			new SyncObjectVersionsMessage(file.getObjectVersions()).sendTo(player);
+
+			if (data != null) {
+				// held back from login, so that any progress it makes is sent to a client which can apply it
+				file.queueFullPushTaskCheck(data);
+			}
+		}
+	}
+
+	private static class Transfer {
+		private final QuestBookFrames book;
+		private final List<BaseS2CMessage> heldChanges = new ArrayList<>();
+		private int next = 0;
+
+		private Transfer(QuestBookFrames book) {
+			this.book = book;
+		}
+
+		/**
+		 * @return true if the last frame has now been sent
+		 */
+		private boolean sendFrames(ServerPlayer player) {
+			List<byte[]> frames = book.frames();
+			int end = Math.min(frames.size(), next + FRAMES_PER_TICK);
+
+			for (; next < end; next++) {
+				new SyncQuestsMessage(book, next).sendTo(player);
+			}
+
+			return next >= frames.size();
+		}
+	}
+}
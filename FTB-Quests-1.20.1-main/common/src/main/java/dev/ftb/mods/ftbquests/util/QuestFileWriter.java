@@ -0,0 +1,136 @@
+package dev.ftb.mods.ftbquests.util;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import dev.ftb.mods.ftbquests.FTBQuests;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes quest book files on a background thread. Each file is written to a temporary file next to it, which is then
+ * moved over the real one, so an interrupted save can't leave a truncated file behind. Writes and deletes happen in
+ * the order they're queued.
+ * <p>
+ * The hash of the content last written to each file is remembered, and writing the same content again is skipped.
+ */
+public class QuestFileWriter {
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "FTB Quests File Writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final Map<Path, HashCode> writtenHashes = new ConcurrentHashMap<>();
+
+	/**
+	 * Queue a file to be written, unless it was last written with exactly the same content.
+	 *
+	 * @param path the file
+	 * @param lines the file content
+	 * @return true if a write was queued
+	 */
+	public boolean write(Path path, List<String> lines) {
+		HashCode hash = hash(lines);
+		if (hash.equals(writtenHashes.put(path, hash))) {
+			return false;
+		}
+
+		executor.execute(() -> {
+			try {
+				writeAtomically(path, lines);
+			} catch (IOException ex) {
+				FTBQuests.LOGGER.error("Failed to write {}: {}", path, ex.getMessage());
+				// make sure the next save tries again
+				writtenHashes.remove(path, hash);
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * Queue a file or folder to be deleted.
+	 */
+	public void delete(Path path) {
+		writtenHashes.keySet().removeIf(p -> p.startsWith(path));
+		executor.execute(() -> FileUtils.delete(path.toFile()));
+	}
+
+	/**
+	 * Forget what was last written, so that every file is written again next time, e.g. after the files have been
+	 * re-read from disk, since they may have been edited by hand.
+	 */
+	public void forgetWritten() {
+		writtenHashes.clear();
+	}
+
+	/**
+	 * Wait for all queued writes and deletes to finish.
+	 */
+	public void flush() {
+		try {
+			executor.submit(() -> {}).get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException ex) {
+			FTBQuests.LOGGER.error("Failed to flush quest file writes: {}", ex.getMessage());
+		}
+	}
+
+	/**
+	 * Finish all queued writes and stop the writer thread.
+	 */
+	public void close() {
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(30L, TimeUnit.SECONDS)) {
+				FTBQuests.LOGGER.error("Timed out waiting for quest files to be written");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static HashCode hash(List<String> lines) {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		for (String line : lines) {
+			hasher.putString(line, StandardCharsets.UTF_8).putByte((byte) '\n');
+		}
+		return hasher.hash();
+	}
+
+	private static void writeAtomically(Path path, List<String> lines) throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (String line : lines) {
+			text.append(line).append(System.lineSeparator());
+		}
+		writeAtomically(path, text.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Write a file through a temporary file next to it, which is then moved over the real one, so that an interrupted
+	 * write can't leave a truncated file behind.
+	 */
+	public static void writeAtomically(Path path, byte[] data) throws IOException {
+		Files.createDirectories(path.getParent());
+		Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+		Files.write(tmp, data);
+
+		try {
+			Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException ex) {
+			Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
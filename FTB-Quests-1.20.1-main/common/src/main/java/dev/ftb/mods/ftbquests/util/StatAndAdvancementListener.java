@@ -0,0 +1,77 @@
+package dev.ftb.mods.ftbquests.util;
+
+import dev.architectury.hooks.level.entity.PlayerHooks;
+import dev.ftb.mods.ftbquests.quest.IslandData;
+import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
+import dev.ftb.mods.ftbquests.quest.task.AdvancementTask;
+import dev.ftb.mods.ftbquests.quest.task.StatTask;
+import dev.ftb.mods.ftbquests.quest.task.Task;
+import net.minecraft.advancements.Advancement;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.stats.Stat;
+import net.minecraft.stats.Stats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pushes stat changes and advancement criterion grants to the {@link StatTask}s and {@link AdvancementTask}s which
+ * care about them, so those tasks don't need to be polled on player tick. Called from mixins on
+ * {@code ServerStatsCounter} and {@code PlayerAdvancements}.
+ * <p>
+ * Tasks only react to changes made while their quest can be started, so when an island's progress changes, its online
+ * members also get a one-off check of all such tasks (see {@link ServerQuestFile#flushPushTaskChecks()}); this picks
+ * up stats and advancements which were already earned before the quest became available.
+ */
+public class StatAndAdvancementListener {
+	public static void statChanged(ServerPlayer player, Stat<?> stat) {
+		ServerQuestFile file = ServerQuestFile.INSTANCE;
+
+		if (file == null || stat.getType() != Stats.CUSTOM || !(stat.getValue() instanceof ResourceLocation statId)) {
+			return;
+		}
+
+		List<StatTask> tasks = file.getTaskDispatchIndex().getStatTasks(statId);
+		if (!tasks.isEmpty()) {
+			submit(file, player, tasks);
+		}
+	}
+
+	public static void criterionGranted(ServerPlayer player, Advancement advancement, String criterion) {
+		ServerQuestFile file = ServerQuestFile.INSTANCE;
+
+		if (file == null) {
+			return;
+		}
+
+		List<AdvancementTask> tasks = file.getTaskDispatchIndex().getAdvancementTasks(advancement.getId());
+		if (tasks.isEmpty()) {
+			return;
+		}
+
+		List<AdvancementTask> affected = new ArrayList<>(tasks.size());
+		for (AdvancementTask task : tasks) {
+			// tasks without a criterion wait for the whole advancement, which can be completed by any criterion
+			if (task.getCriterion().isEmpty() || task.getCriterion().equals(criterion)) {
+				affected.add(task);
+			}
+		}
+
+		if (!affected.isEmpty()) {
+			submit(file, player, affected);
+		}
+	}
+
+	private static void submit(ServerQuestFile file, ServerPlayer player, List<? extends Task> tasks) {
+		if (PlayerHooks.isFake(player)) {
+			return;
+		}
+
+		IslandData data = file.getOrCreateIslandData(player);
+
+		if (data != null && !data.isLocked() && data.isMember(player.getUUID())) {
+			file.submitTasks(data, player, tasks);
+		}
+	}
+}
@@ -24,7 +24,7 @@ public class TeamHttpClient {
 
     public static CompletableFuture<Boolean> notifyTeamCreated(UUID ownerUuid, String teamName) {
         // This is a hypothetical endpoint. The user needs to confirm the actual API endpoints.
-        String apiUrl = FTBQuestsTeamConfig.API_BASE_URL + "teams/";
+        String apiUrl = FTBQuestsTeamConfig.API_BASE_URL.get() + "teams/";
         
         JsonObject payload = new JsonObject();
         payload.addProperty("name", teamName);
@@ -54,7 +54,7 @@ public class TeamHttpClient {
     }
 
     public static CompletableFuture<Boolean> notifyIslandAction(UUID playerUuid, String action) {
-        String apiUrl = FTBQuestsTeamConfig.API_BASE_URL + "islands/" + playerUuid.toString() + "/" + action; // e.g. /api/v1/islands/uuid/archive
+        String apiUrl = FTBQuestsTeamConfig.API_BASE_URL.get() + "islands/" + playerUuid.toString() + "/" + action; // e.g. /api/v1/islands/uuid/archive
 
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(apiUrl))